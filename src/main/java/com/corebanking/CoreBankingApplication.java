@@ -3,12 +3,12 @@ package com.corebanking;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @SpringBootApplication
-@EnableJpaAuditing
 @EnableTransactionManagement
+@EnableScheduling
 public class CoreBankingApplication {
     public static void main(String[] args) {
         SpringApplication.run(CoreBankingApplication.class, args);
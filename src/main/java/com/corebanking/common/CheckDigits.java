@@ -0,0 +1,37 @@
+package com.corebanking.common;
+
+public final class CheckDigits {
+
+    private CheckDigits() {}
+
+    // Appends the Luhn check digit, which catches every single-digit typo and most transpositions
+    public static String withLuhn(long body) {
+        String digits = Long.toString(body);
+        return digits + luhn(digits);
+    }
+
+    public static boolean isValidLuhn(String number) {
+        if (number == null || number.length() < 2 || !number.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        String body = number.substring(0, number.length() - 1);
+        return luhn(body) == number.charAt(number.length() - 1) - '0';
+    }
+
+    static int luhn(String digits) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int digit = digits.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
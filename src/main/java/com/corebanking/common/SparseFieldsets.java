@@ -0,0 +1,37 @@
+package com.corebanking.common;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// ?fields=a,b,c support for read endpoints. Response DTOs opt in with @JsonFilter(FILTER); wrappers such
+// as Page are left intact and only the listed properties of each DTO are written.
+public final class SparseFieldsets {
+
+    public static final String FILTER = "sparseFields";
+
+    private SparseFieldsets() {}
+
+    public static Object apply(Object body, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return body;
+        }
+        Set<String> names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toSet());
+
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+        return value;
+    }
+
+    // Used by the application ObjectMapper so that annotated DTOs serialize in full without ?fields
+    public static SimpleFilterProvider defaultFilters() {
+        return new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.serializeAll());
+    }
+}
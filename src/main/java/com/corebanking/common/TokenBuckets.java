@@ -0,0 +1,35 @@
+package com.corebanking.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// One TokenBucket per key, all with the same capacity and rate. A bucket idle for longer than a full
+// refill is dropped; a fresh bucket starts full, which is the same state.
+public class TokenBuckets {
+
+    private final int capacity;
+    private final double refillPerSecond;
+    private final Cache<String, TokenBucket> buckets;
+
+    public TokenBuckets(int capacity, double refillPerSecond, long maxTracked) {
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        long fullRefillSeconds = (long) Math.ceil(capacity / refillPerSecond);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofSeconds(Math.max(1, fullRefillSeconds)))
+                .maximumSize(maxTracked)
+                .build();
+    }
+
+    // Zero when the key may proceed, otherwise the whole seconds to wait before retrying
+    public long acquire(String key) {
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(capacity, refillPerSecond));
+        if (bucket.tryAcquire()) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable() + 999_999_999));
+    }
+}
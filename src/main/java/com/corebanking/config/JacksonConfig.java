@@ -0,0 +1,16 @@
+package com.corebanking.config;
+
+import com.corebanking.common.SparseFieldsets;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // DTOs carrying @JsonFilter(SparseFieldsets.FILTER) need the filter registered even when no ?fields is given
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetFilters() {
+        return builder -> builder.filters(SparseFieldsets.defaultFilters());
+    }
+}
@@ -0,0 +1,15 @@
+package com.corebanking.config;
+
+import com.corebanking.common.ReferenceNumberGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ReferenceNumberConfig {
+
+    @Bean
+    public ReferenceNumberGenerator referenceNumberGenerator(@Value("${banking.node-id:0}") long nodeId) {
+        return new ReferenceNumberGenerator(nodeId);
+    }
+}
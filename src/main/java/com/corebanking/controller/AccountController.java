@@ -1,14 +1,15 @@
 
 package com.corebanking.controller;
 
+import com.corebanking.common.SparseFieldsets;
 import com.corebanking.dto.AccountCreateRequest;
+import com.corebanking.dto.AccountSummary;
 import com.corebanking.entity.Account;
 import com.corebanking.entity.AccountStatus;
-import com.corebanking.entity.Customer;
-import com.corebanking.entity.User;
 import com.corebanking.service.AccountService;
-import com.corebanking.service.CustomerService;
-import com.corebanking.service.UserService;
+import com.corebanking.service.BalanceStripeService;
+import com.corebanking.service.PrincipalContext;
+import com.corebanking.service.PrincipalContextCache;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -28,31 +29,24 @@ public class AccountController {
     private AccountService accountService;
 
     @Autowired
-    private CustomerService customerService;
+    private PrincipalContextCache principalContextCache;
 
     @Autowired
-    private UserService userService;
+    private BalanceStripeService balanceStripeService;
 
     @PostMapping("/create")
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<?> createAccount(@Valid @RequestBody AccountCreateRequest request, 
                                          Authentication authentication) {
         try {
-            String username = authentication.getName();
-            Optional<User> userOptional = userService.findByUsername(username);
+            Optional<PrincipalContext> principal = principalContextCache.find(authentication.getName());
             
-            if (userOptional.isEmpty()) {
-                return ResponseEntity.badRequest().body("User not found");
-            }
-            
-            Optional<Customer> customerOptional = customerService.findByUserId(userOptional.get().getUserId());
-            
-            if (customerOptional.isEmpty()) {
+            if (principal.isEmpty()) {
                 return ResponseEntity.badRequest().body("Customer profile not found");
             }
             
-            Account account = accountService.createAccount(customerOptional.get().getCustomerId(), request.getAccountType());
-            return ResponseEntity.ok(account);
+            Account account = accountService.createAccount(principal.get().customerId(), request.getAccountType());
+            return ResponseEntity.ok(AccountSummary.from(account));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Account creation failed: " + e.getMessage());
         }
@@ -60,23 +54,16 @@ public class AccountController {
 
     @GetMapping("/my-accounts")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> getMyAccounts(Authentication authentication) {
+    public ResponseEntity<?> getMyAccounts(@RequestParam(required = false) String fields, Authentication authentication) {
         try {
-            String username = authentication.getName();
-            Optional<User> userOptional = userService.findByUsername(username);
-            
-            if (userOptional.isEmpty()) {
-                return ResponseEntity.badRequest().body("User not found");
-            }
-            
-            Optional<Customer> customerOptional = customerService.findByUserId(userOptional.get().getUserId());
+            Optional<PrincipalContext> principal = principalContextCache.find(authentication.getName());
             
-            if (customerOptional.isEmpty()) {
+            if (principal.isEmpty()) {
                 return ResponseEntity.badRequest().body("Customer profile not found");
             }
             
-            List<Account> accounts = accountService.getCustomerAccounts(customerOptional.get().getCustomerId());
-            return ResponseEntity.ok(accounts);
+            List<AccountSummary> accounts = accountService.getCustomerAccountSummaries(principal.get().customerId());
+            return ResponseEntity.ok(SparseFieldsets.apply(accounts, fields));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to get accounts: " + e.getMessage());
         }
@@ -84,30 +71,22 @@ public class AccountController {
 
     @GetMapping("/{accountNumber}")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> getAccountByNumber(@PathVariable String accountNumber, Authentication authentication) {
+    public ResponseEntity<?> getAccountByNumber(@PathVariable String accountNumber,
+                                                @RequestParam(required = false) String fields,
+                                                Authentication authentication) {
         try {
-            Optional<Account> accountOptional = accountService.getAccountByNumber(accountNumber);
+            Optional<AccountSummary> accountOptional = accountService.getAccountSummary(accountNumber);
             
             if (accountOptional.isEmpty()) {
                 return ResponseEntity.badRequest().body("Account not found");
             }
             
             // Verify the account belongs to the authenticated user
-            String username = authentication.getName();
-            Optional<User> userOptional = userService.findByUsername(username);
-            
-            if (userOptional.isEmpty()) {
-                return ResponseEntity.badRequest().body("User not found");
-            }
-            
-            Optional<Customer> customerOptional = customerService.findByUserId(userOptional.get().getUserId());
-            
-            if (customerOptional.isEmpty() || 
-                !accountOptional.get().getCustomer().getCustomerId().equals(customerOptional.get().getCustomerId())) {
+            if (!principalContextCache.owns(authentication.getName(), accountNumber)) {
                 return ResponseEntity.badRequest().body("Account access denied");
             }
             
-            return ResponseEntity.ok(accountOptional.get());
+            return ResponseEntity.ok(SparseFieldsets.apply(accountOptional.get(), fields));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to get account: " + e.getMessage());
         }
@@ -123,4 +102,26 @@ public class AccountController {
             return ResponseEntity.badRequest().body("Failed to update account status: " + e.getMessage());
         }
     }
+
+    @PutMapping("/{accountNumber}/stripes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> enableStriping(@PathVariable String accountNumber, @RequestParam(defaultValue = "8") int count) {
+        try {
+            balanceStripeService.enableStriping(accountNumber, count);
+            return ResponseEntity.ok("Account balance split into " + count + " stripes");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to enable striping: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{accountNumber}/stripes")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> disableStriping(@PathVariable String accountNumber) {
+        try {
+            balanceStripeService.disableStriping(accountNumber);
+            return ResponseEntity.ok("Account stripes merged into the account balance");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to disable striping: " + e.getMessage());
+        }
+    }
 }
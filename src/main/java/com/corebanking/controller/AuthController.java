@@ -5,11 +5,18 @@ import com.corebanking.dto.LoginRequest;
 import com.corebanking.dto.LoginResponse;
 import com.corebanking.dto.UserRegistrationRequest;
 import com.corebanking.entity.User;
+import com.corebanking.security.JwtAuthenticationFilter;
 import com.corebanking.security.JwtTokenProvider;
+import com.corebanking.service.TokenRevocationService;
 import com.corebanking.service.UserService;
+import com.corebanking.service.LoginThrottle;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Optional;
@@ -25,9 +32,23 @@ public class AuthController {
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest httpRequest) {
         try {
+            // Throttled before the user lookup and BCrypt, which is where a burst would do its damage
+            long retryAfter = loginThrottle.acquire(loginRequest.getUsername(), httpRequest.getRemoteAddr());
+            if (retryAfter > 0) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                        .body("Too many login attempts. Please try again later.");
+            }
+            
             Optional<User> userOptional = userService.findByUsername(loginRequest.getUsername());
             
             if (userOptional.isEmpty()) {
@@ -47,7 +68,8 @@ public class AuthController {
                 return ResponseEntity.badRequest().body("Invalid username or password");
             }
             
-            // Update last login
+            // Update last login, with the hash re-made if the configured work factor has gone up
+            userService.upgradePasswordHash(user, loginRequest.getPassword());
             userService.updateLastLogin(user);
             
             // Generate JWT token
@@ -78,8 +100,16 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
-        // JWT tokens are stateless, so logout is handled client-side
-        return ResponseEntity.ok("Logged out successfully");
+    public ResponseEntity<?> logout(HttpServletRequest httpRequest) {
+        try {
+            // The presented token stops working on this instance at once and on others within a filter refresh
+            String token = JwtAuthenticationFilter.getTokenFromRequest(httpRequest);
+            if (StringUtils.hasText(token)) {
+                tokenRevocationService.revoke(token);
+            }
+            return ResponseEntity.ok("Logged out successfully");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Logout failed: " + e.getMessage());
+        }
     }
 }
@@ -6,6 +6,8 @@ import com.corebanking.entity.Customer;
 import com.corebanking.entity.KycStatus;
 import com.corebanking.entity.User;
 import com.corebanking.service.CustomerService;
+import com.corebanking.service.PrincipalContext;
+import com.corebanking.service.PrincipalContextCache;
 import com.corebanking.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +30,9 @@ public class CustomerController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PrincipalContextCache principalContextCache;
+
     @PostMapping("/profile")
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<?> createCustomerProfile(@Valid @RequestBody CustomerRegistrationRequest request, 
@@ -51,14 +56,13 @@ public class CustomerController {
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<?> getCustomerProfile(Authentication authentication) {
         try {
-            String username = authentication.getName();
-            Optional<User> userOptional = userService.findByUsername(username);
+            Optional<PrincipalContext> principal = principalContextCache.find(authentication.getName());
             
-            if (userOptional.isEmpty()) {
-                return ResponseEntity.badRequest().body("User not found");
+            if (principal.isEmpty()) {
+                return ResponseEntity.badRequest().body("Customer profile not found");
             }
             
-            Optional<Customer> customerOptional = customerService.findByUserId(userOptional.get().getUserId());
+            Optional<Customer> customerOptional = customerService.findByUserId(principal.get().userId());
             
             if (customerOptional.isEmpty()) {
                 return ResponseEntity.badRequest().body("Customer profile not found");
@@ -74,20 +78,13 @@ public class CustomerController {
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<?> updateKycDocuments(@RequestBody String kycDocuments, Authentication authentication) {
         try {
-            String username = authentication.getName();
-            Optional<User> userOptional = userService.findByUsername(username);
+            Optional<PrincipalContext> principal = principalContextCache.find(authentication.getName());
             
-            if (userOptional.isEmpty()) {
-                return ResponseEntity.badRequest().body("User not found");
-            }
-            
-            Optional<Customer> customerOptional = customerService.findByUserId(userOptional.get().getUserId());
-            
-            if (customerOptional.isEmpty()) {
+            if (principal.isEmpty()) {
                 return ResponseEntity.badRequest().body("Customer profile not found");
             }
             
-            Customer customer = customerService.updateKycDocuments(customerOptional.get().getCustomerId(), kycDocuments);
+            Customer customer = customerService.updateKycDocuments(principal.get().customerId(), kycDocuments);
             return ResponseEntity.ok("KYC documents updated successfully");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to update KYC: " + e.getMessage());
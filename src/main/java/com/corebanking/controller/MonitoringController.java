@@ -1,10 +1,12 @@
 package com.corebanking.controller;
 
 import com.corebanking.service.HealthMonitoringService;
+import com.corebanking.service.LockWaitMonitor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDateTime;
@@ -18,6 +20,9 @@ public class MonitoringController {
     @Autowired
     private HealthMonitoringService healthMonitoringService;
 
+    @Autowired
+    private LockWaitMonitor lockWaitMonitor;
+
     @GetMapping("/status")
     public ResponseEntity<Map<String, Object>> getSystemStatus() {
         Map<String, Object> status = new HashMap<>();
@@ -41,4 +46,12 @@ public class MonitoringController {
         healthCheck.put("metrics", healthMonitoringService.getSystemMetrics());
         return ResponseEntity.ok(healthCheck);
     }
+
+    @GetMapping("/lock-waits")
+    public ResponseEntity<Map<String, Object>> getLockWaits(@RequestParam(defaultValue = "20") int limit) {
+        Map<String, Object> lockWaits = new HashMap<>();
+        lockWaits.put("timestamp", LocalDateTime.now());
+        lockWaits.put("accounts", lockWaitMonitor.getTopAccounts(limit));
+        return ResponseEntity.ok(lockWaits);
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -52,4 +53,16 @@ public class ReportController {
             return ResponseEntity.badRequest().body("Failed to get monthly summary: " + e.getMessage());
         }
     }
+
+    // Backfill: re-derives the daily rollups for past days from the transactions table
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildRollups(@RequestParam String from, @RequestParam String to) {
+        try {
+            int days = reportService.rebuildTransactionRollups(LocalDate.parse(from), LocalDate.parse(to));
+            return ResponseEntity.ok("Rebuilt transaction rollups for " + days + " days");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to rebuild rollups: " + e.getMessage());
+        }
+    }
 }
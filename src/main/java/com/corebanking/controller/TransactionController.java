@@ -1,25 +1,41 @@
 
 package com.corebanking.controller;
 
+import com.corebanking.common.SparseFieldsets;
+import com.corebanking.dto.BatchTransactionRequest;
+import com.corebanking.dto.BatchTransactionResponse;
+import com.corebanking.dto.TransactionHistoryPage;
 import com.corebanking.dto.TransactionRequest;
-import com.corebanking.entity.Account;
-import com.corebanking.entity.Customer;
-import com.corebanking.entity.Transaction;
-import com.corebanking.entity.User;
+import com.corebanking.dto.TransactionSummary;
+import com.corebanking.entity.PostingRequest;
+import com.corebanking.entity.TransactionType;
 import com.corebanking.service.AccountService;
-import com.corebanking.service.CustomerService;
+import com.corebanking.service.AsyncPostingService;
+import com.corebanking.service.BatchPostingService;
+import com.corebanking.service.IdempotencyService;
+import com.corebanking.service.PrincipalContext;
+import com.corebanking.service.PrincipalContextCache;
+import com.corebanking.service.StatementExportService;
+import com.corebanking.service.StatementFormat;
 import com.corebanking.service.TransactionService;
-import com.corebanking.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +44,13 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class TransactionController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    // RFC 7240 preference asking for 202 Accepted instead of waiting for the posting
+    private static final String RESPOND_ASYNC = "respond-async";
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     @Autowired
     private TransactionService transactionService;
 
@@ -35,21 +58,45 @@ public class TransactionController {
     private AccountService accountService;
 
     @Autowired
-    private CustomerService customerService;
+    private PrincipalContextCache principalContextCache;
+
+    @Autowired
+    private BatchPostingService batchPostingService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private AsyncPostingService asyncPostingService;
 
     @Autowired
-    private UserService userService;
+    private StatementExportService statementExportService;
 
     @PostMapping("/deposit")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> deposit(@Valid @RequestBody TransactionRequest request, Authentication authentication) {
+    public ResponseEntity<?> deposit(@Valid @RequestBody TransactionRequest request,
+                                     @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                     @RequestHeader(value = "Prefer", required = false) String prefer,
+                                     Authentication authentication) {
         try {
+            String requestHash = fingerprint("DEPOSIT", request);
+            if (respondAsync(prefer)) {
+                return acceptAsync(TransactionType.DEPOSIT, request, idempotencyKey, requestHash, authentication);
+            }
+
+            // A retried request gets the original outcome without re-posting
+            Optional<TransactionSummary> replay = idempotencyService.findReplay(authentication.getName(), idempotencyKey, requestHash);
+            if (replay.isPresent()) {
+                return ResponseEntity.ok(replay.get());
+            }
+
             // Verify account ownership
             if (!verifyAccountOwnership(request.getAccountNumber(), authentication)) {
                 return ResponseEntity.badRequest().body("Account access denied");
             }
             
-            Transaction transaction = transactionService.deposit(request.getAccountNumber(), request.getAmount(), request.getDescription());
+            TransactionSummary transaction = idempotencyService.execute(authentication.getName(), idempotencyKey, requestHash,
+                    () -> transactionService.deposit(request.getAccountNumber(), request.getAmount(), request.getDescription()));
             return ResponseEntity.ok(transaction);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Deposit failed: " + e.getMessage());
@@ -58,14 +105,27 @@ public class TransactionController {
 
     @PostMapping("/withdraw")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> withdraw(@Valid @RequestBody TransactionRequest request, Authentication authentication) {
+    public ResponseEntity<?> withdraw(@Valid @RequestBody TransactionRequest request,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                      @RequestHeader(value = "Prefer", required = false) String prefer,
+                                      Authentication authentication) {
         try {
+            String requestHash = fingerprint("WITHDRAW", request);
+            if (respondAsync(prefer)) {
+                return acceptAsync(TransactionType.WITHDRAWAL, request, idempotencyKey, requestHash, authentication);
+            }
+            Optional<TransactionSummary> replay = idempotencyService.findReplay(authentication.getName(), idempotencyKey, requestHash);
+            if (replay.isPresent()) {
+                return ResponseEntity.ok(replay.get());
+            }
+
             // Verify account ownership
             if (!verifyAccountOwnership(request.getAccountNumber(), authentication)) {
                 return ResponseEntity.badRequest().body("Account access denied");
             }
             
-            Transaction transaction = transactionService.withdraw(request.getAccountNumber(), request.getAmount(), request.getDescription());
+            TransactionSummary transaction = idempotencyService.execute(authentication.getName(), idempotencyKey, requestHash,
+                    () -> transactionService.withdraw(request.getAccountNumber(), request.getAmount(), request.getDescription()));
             return ResponseEntity.ok(transaction);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Withdrawal failed: " + e.getMessage());
@@ -74,69 +134,185 @@ public class TransactionController {
 
     @PostMapping("/transfer")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> transfer(@Valid @RequestBody TransactionRequest request, Authentication authentication) {
+    public ResponseEntity<?> transfer(@Valid @RequestBody TransactionRequest request,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                      @RequestHeader(value = "Prefer", required = false) String prefer,
+                                      Authentication authentication) {
         try {
+            String requestHash = fingerprint("TRANSFER", request);
+            if (respondAsync(prefer)) {
+                return acceptAsync(TransactionType.TRANSFER_OUT, request, idempotencyKey, requestHash, authentication);
+            }
+            if (idempotencyService.findReplay(authentication.getName(), idempotencyKey, requestHash).isPresent()) {
+                return ResponseEntity.ok("Transfer completed successfully");
+            }
+
             // Verify source account ownership
             if (!verifyAccountOwnership(request.getAccountNumber(), authentication)) {
                 return ResponseEntity.badRequest().body("Source account access denied");
             }
             
-            transactionService.transfer(request.getAccountNumber(), request.getToAccountNumber(), request.getAmount(), request.getDescription());
+            idempotencyService.execute(authentication.getName(), idempotencyKey, requestHash,
+                    () -> transactionService.transfer(request.getAccountNumber(), request.getToAccountNumber(),
+                            request.getAmount(), request.getDescription()));
             return ResponseEntity.ok("Transfer completed successfully");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Transfer failed: " + e.getMessage());
         }
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<?> batch(@Valid @RequestBody BatchTransactionRequest request, Authentication authentication) {
+        try {
+            // Ownership is resolved once for the caller and checked per item against the locked accounts
+            Optional<PrincipalContext> principal = principalContextCache.find(authentication.getName());
+            if (principal.isEmpty()) {
+                return ResponseEntity.badRequest().body("Customer profile not found");
+            }
+
+            BatchTransactionResponse response = batchPostingService.post(request.getItems(),
+                    principal.get().customerId(), authentication.getName());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Batch posting failed: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/requests/{requestId}")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<?> getPostingRequest(@PathVariable Long requestId, Authentication authentication) {
+        Optional<PostingRequest> postingRequest = asyncPostingService.findRequest(requestId, authentication.getName());
+        if (postingRequest.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(postingRequest.get());
+    }
+
     @GetMapping("/account/{accountNumber}")
     @PreAuthorize("hasRole('CUSTOMER')")
     public ResponseEntity<?> getAccountTransactions(@PathVariable String accountNumber,
                                                    @RequestParam(defaultValue = "0") int page,
                                                    @RequestParam(defaultValue = "10") int size,
+                                                   @RequestParam(required = false) String fields,
                                                    Authentication authentication) {
         try {
             // Verify account ownership
-            if (!verifyAccountOwnership(accountNumber, authentication)) {
+            Optional<Long> accountId = principalContextCache.ownedAccountId(authentication.getName(), accountNumber);
+            if (accountId.isEmpty()) {
                 return ResponseEntity.badRequest().body("Account access denied");
             }
             
-            Optional<Account> accountOptional = accountService.getAccountByNumber(accountNumber);
-            if (accountOptional.isEmpty()) {
-                return ResponseEntity.badRequest().body("Account not found");
-            }
-            
             Pageable pageable = PageRequest.of(page, size);
-            Page<Transaction> transactions = transactionService.getAccountTransactions(accountOptional.get().getAccountId(), pageable);
-            return ResponseEntity.ok(transactions);
+            Page<TransactionSummary> transactions = transactionService.getAccountTransactions(accountId.get(), pageable);
+            return ResponseEntity.ok(SparseFieldsets.apply(transactions, fields));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to get transactions: " + e.getMessage());
         }
     }
 
-    private boolean verifyAccountOwnership(String accountNumber, Authentication authentication) {
+    @GetMapping("/account/{accountNumber}/history")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<?> getAccountHistory(@PathVariable String accountNumber,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "20") int size,
+                                               @RequestParam(required = false) String fields,
+                                               Authentication authentication) {
         try {
-            String username = authentication.getName();
-            Optional<User> userOptional = userService.findByUsername(username);
-            
-            if (userOptional.isEmpty()) {
-                return false;
+            if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+                return ResponseEntity.badRequest().body("Size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
             }
-            
-            Optional<Customer> customerOptional = customerService.findByUserId(userOptional.get().getUserId());
-            
-            if (customerOptional.isEmpty()) {
-                return false;
+
+            // Verify account ownership
+            Optional<Long> accountId = principalContextCache.ownedAccountId(authentication.getName(), accountNumber);
+            if (accountId.isEmpty()) {
+                return ResponseEntity.badRequest().body("Account access denied");
             }
-            
-            Optional<Account> accountOptional = accountService.getAccountByNumber(accountNumber);
-            
-            if (accountOptional.isEmpty()) {
-                return false;
+
+            // Cursor pages skip the count query and seek instead of skipping rows, so page 500 costs what page 1 does
+            TransactionHistoryPage history = transactionService.getAccountHistory(accountId.get(), cursor, size);
+            return ResponseEntity.ok(SparseFieldsets.apply(history, fields));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to get transactions: " + e.getMessage());
+        }
+    }
+
+    // Streams the statement for [startDate, endDate] inclusive; the range is unbounded because rows are
+    // written as they are read. Errors are plain text, since the handler must return a streaming body.
+    @GetMapping("/account/{accountNumber}/export")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public ResponseEntity<StreamingResponseBody> exportStatement(@PathVariable String accountNumber,
+                                                                 @RequestParam String startDate,
+                                                                 @RequestParam String endDate,
+                                                                 @RequestParam(defaultValue = "csv") String format,
+                                                                 @RequestParam(defaultValue = "false") boolean gzip,
+                                                                 Authentication authentication) {
+        try {
+            StatementFormat statementFormat = StatementFormat.valueOf(format.toUpperCase());
+            LocalDate from = LocalDate.parse(startDate);
+            LocalDate to = LocalDate.parse(endDate);
+            if (to.isBefore(from)) {
+                return plainTextError("End date must not be before start date");
             }
-            
-            return accountOptional.get().getCustomer().getCustomerId().equals(customerOptional.get().getCustomerId());
+
+            // Verify account ownership
+            Optional<Long> accountId = principalContextCache.ownedAccountId(authentication.getName(), accountNumber);
+            if (accountId.isEmpty()) {
+                return plainTextError("Account access denied");
+            }
+
+            String filename = "statement-" + accountNumber + "-" + from + "-" + to + "." + statementFormat.getExtension()
+                    + (gzip ? ".gz" : "");
+            StreamingResponseBody body = out -> statementExportService.export(accountId.get(), from.atStartOfDay(),
+                    to.plusDays(1).atStartOfDay(), statementFormat, gzip, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : statementFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                    .body(body);
         } catch (Exception e) {
-            return false;
+            return plainTextError("Export failed: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> plainTextError(String message) {
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Validated and stored now, posted later by a worker; the caller polls the Location URL for the outcome
+    private ResponseEntity<?> acceptAsync(TransactionType type, TransactionRequest request, String idempotencyKey,
+                                          String requestHash, Authentication authentication) {
+        if (!verifyAccountOwnership(request.getAccountNumber(), authentication)) {
+            return ResponseEntity.badRequest().body("Account access denied");
+        }
+        if (type == TransactionType.TRANSFER_OUT
+                && (request.getToAccountNumber() == null || accountService.getAccountByNumber(request.getToAccountNumber()).isEmpty())) {
+            return ResponseEntity.badRequest().body("Destination account not found");
         }
+
+        PostingRequest postingRequest = asyncPostingService.accept(authentication.getName(), idempotencyKey, requestHash, type,
+                request.getAccountNumber(), request.getToAccountNumber(), request.getAmount(), request.getDescription());
+        URI statusUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/transaction/requests/{requestId}")
+                .buildAndExpand(postingRequest.getRequestId())
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(statusUrl)
+                .header("Preference-Applied", RESPOND_ASYNC)
+                .body(postingRequest);
+    }
+
+    private boolean respondAsync(String prefer) {
+        return prefer != null && prefer.toLowerCase().contains(RESPOND_ASYNC);
+    }
+
+    private String fingerprint(String operation, TransactionRequest request) {
+        return IdempotencyService.fingerprint(operation, request.getAccountNumber(), request.getToAccountNumber(),
+                request.getAmount(), request.getDescription());
+    }
+
+    private boolean verifyAccountOwnership(String accountNumber, Authentication authentication) {
+        return principalContextCache.owns(authentication.getName(), accountNumber);
     }
 }
@@ -0,0 +1,18 @@
+package com.corebanking.dto;
+
+import com.corebanking.entity.AccountStatus;
+
+import java.math.BigDecimal;
+
+public interface AccountBalanceView {
+
+    Long getAccountId();
+
+    String getAccountNumber();
+
+    Long getCustomerId();
+
+    BigDecimal getBalance();
+
+    AccountStatus getStatus();
+}
@@ -0,0 +1,8 @@
+package com.corebanking.dto;
+
+public interface AccountNumberView {
+
+    Long getAccountId();
+
+    String getAccountNumber();
+}
@@ -0,0 +1,115 @@
+package com.corebanking.dto;
+
+import com.corebanking.common.SparseFieldsets;
+import com.corebanking.entity.Account;
+import com.corebanking.entity.AccountStatus;
+import com.corebanking.entity.AccountType;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// What the account endpoints return instead of the Account entity, whose eager customer and user
+// associations would otherwise be loaded and serialized with every response
+@JsonFilter(SparseFieldsets.FILTER)
+public class AccountSummary {
+
+    private Long accountId;
+    private String accountNumber;
+    private Long customerId;
+    private AccountType accountType;
+    private BigDecimal balance;
+    private AccountStatus status;
+    private LocalDateTime openedDate;
+    private LocalDateTime closedDate;
+
+    public AccountSummary() {}
+
+    // Argument order is the SELECT new ... order used by AccountRepository. The striped part is the
+    // Account formula, so the balance matches Account.getBalance().
+    public AccountSummary(Long accountId, String accountNumber, Long customerId, AccountType accountType,
+                          BigDecimal baseBalance, BigDecimal stripedBalance, AccountStatus status,
+                          LocalDateTime openedDate, LocalDateTime closedDate) {
+        this.accountId = accountId;
+        this.accountNumber = accountNumber;
+        this.customerId = customerId;
+        this.accountType = accountType;
+        this.balance = stripedBalance == null ? baseBalance : baseBalance.add(stripedBalance);
+        this.status = status;
+        this.openedDate = openedDate;
+        this.closedDate = closedDate;
+    }
+
+    public static AccountSummary from(Account account) {
+        return new AccountSummary(account.getAccountId(), account.getAccountNumber(),
+                account.getCustomer().getCustomerId(), account.getAccountType(), account.getBalance(), null,
+                account.getStatus(), account.getOpenedDate(), account.getClosedDate());
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    // Used for ownership checks only
+    @JsonIgnore
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(AccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+
+    public AccountStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AccountStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getOpenedDate() {
+        return openedDate;
+    }
+
+    public void setOpenedDate(LocalDateTime openedDate) {
+        this.openedDate = openedDate;
+    }
+
+    public LocalDateTime getClosedDate() {
+        return closedDate;
+    }
+
+    public void setClosedDate(LocalDateTime closedDate) {
+        this.closedDate = closedDate;
+    }
+}
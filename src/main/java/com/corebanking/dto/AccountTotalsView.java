@@ -0,0 +1,18 @@
+package com.corebanking.dto;
+
+import com.corebanking.entity.AccountStatus;
+import com.corebanking.entity.AccountType;
+
+import java.math.BigDecimal;
+
+// One group of the dashboard aggregate; getTotalBalance() includes striped sub-balances
+public interface AccountTotalsView {
+
+    AccountType getAccountType();
+
+    AccountStatus getStatus();
+
+    Long getAccountCount();
+
+    BigDecimal getTotalBalance();
+}
@@ -0,0 +1,10 @@
+package com.corebanking.dto;
+
+import com.corebanking.entity.AccountType;
+
+public interface AccountTypeView {
+
+    Long getAccountId();
+
+    AccountType getAccountType();
+}
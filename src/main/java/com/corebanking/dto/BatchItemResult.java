@@ -0,0 +1,74 @@
+package com.corebanking.dto;
+
+import java.math.BigDecimal;
+
+public class BatchItemResult {
+
+    public static final String POSTED = "POSTED";
+    public static final String REJECTED = "REJECTED";
+
+    private int index;
+    private String status;
+    private String referenceNumber;
+    private BigDecimal balanceAfter;
+    private String message;
+
+    public BatchItemResult() {}
+
+    public static BatchItemResult posted(int index, String referenceNumber, BigDecimal balanceAfter) {
+        BatchItemResult result = new BatchItemResult();
+        result.index = index;
+        result.status = POSTED;
+        result.referenceNumber = referenceNumber;
+        result.balanceAfter = balanceAfter;
+        return result;
+    }
+
+    public static BatchItemResult rejected(int index, String message) {
+        BatchItemResult result = new BatchItemResult();
+        result.index = index;
+        result.status = REJECTED;
+        result.message = message;
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getReferenceNumber() {
+        return referenceNumber;
+    }
+
+    public void setReferenceNumber(String referenceNumber) {
+        this.referenceNumber = referenceNumber;
+    }
+
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,7 @@
+package com.corebanking.dto;
+
+public enum BatchOperation {
+    DEPOSIT,
+    WITHDRAW,
+    TRANSFER
+}
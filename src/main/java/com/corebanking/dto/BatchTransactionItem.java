@@ -0,0 +1,60 @@
+package com.corebanking.dto;
+
+import java.math.BigDecimal;
+
+// Items are validated individually by the batch service so that one bad line
+// is rejected on its own instead of failing the whole request
+public class BatchTransactionItem {
+
+    private BatchOperation operation;
+
+    private String accountNumber;
+
+    private String toAccountNumber;
+
+    private BigDecimal amount;
+
+    private String description;
+
+    public BatchTransactionItem() {}
+
+    public BatchOperation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(BatchOperation operation) {
+        this.operation = operation;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+
+    public void setToAccountNumber(String toAccountNumber) {
+        this.toAccountNumber = toAccountNumber;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -0,0 +1,21 @@
+package com.corebanking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BatchTransactionRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    private List<BatchTransactionItem> items;
+
+    public BatchTransactionRequest() {}
+
+    public List<BatchTransactionItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BatchTransactionItem> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,47 @@
+package com.corebanking.dto;
+
+import java.util.List;
+
+public class BatchTransactionResponse {
+
+    private int posted;
+    private int rejected;
+    private List<BatchItemResult> results;
+
+    public BatchTransactionResponse() {}
+
+    public BatchTransactionResponse(List<BatchItemResult> results) {
+        this.results = results;
+        for (BatchItemResult result : results) {
+            if (BatchItemResult.POSTED.equals(result.getStatus())) {
+                posted++;
+            } else {
+                rejected++;
+            }
+        }
+    }
+
+    public int getPosted() {
+        return posted;
+    }
+
+    public void setPosted(int posted) {
+        this.posted = posted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,8 @@
+package com.corebanking.dto;
+
+public interface CustomerIdentityView {
+
+    Long getUserId();
+
+    Long getCustomerId();
+}
@@ -0,0 +1,7 @@
+package com.corebanking.dto;
+
+// Row-locked account state; getBalance() is the base row only, the stripes are locked and summed separately
+public interface LockedAccountView extends AccountBalanceView {
+
+    Integer getStripeCount();
+}
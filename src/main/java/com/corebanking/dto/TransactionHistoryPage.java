@@ -0,0 +1,43 @@
+package com.corebanking.dto;
+
+import java.util.List;
+
+public class TransactionHistoryPage {
+
+    private List<TransactionSummary> transactions;
+    // Pass back as ?cursor= for the next, older page; null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+
+    public TransactionHistoryPage() {}
+
+    public TransactionHistoryPage(List<TransactionSummary> transactions, String nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public List<TransactionSummary> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionSummary> transactions) {
+        this.transactions = transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,121 @@
+package com.corebanking.dto;
+
+import com.corebanking.common.SparseFieldsets;
+import com.corebanking.entity.Transaction;
+import com.corebanking.entity.TransactionType;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Account-free view of a posting, as listed in transaction history; safe to keep in memory. History
+// queries select straight into it, so no Transaction entity or Account proxy is ever materialized.
+@JsonFilter(SparseFieldsets.FILTER)
+public class TransactionSummary {
+
+    private Long transactionId;
+    private TransactionType transactionType;
+    private BigDecimal amount;
+    private String description;
+    private LocalDateTime transactionDate;
+    private BigDecimal balanceAfter;
+    private String referenceNumber;
+    private String toAccountNumber;
+    private String fromAccountNumber;
+
+    public TransactionSummary() {}
+
+    // Argument order is the SELECT new ... order used by TransactionRepository
+    public TransactionSummary(Long transactionId, TransactionType transactionType, BigDecimal amount, String description,
+                              LocalDateTime transactionDate, BigDecimal balanceAfter, String referenceNumber,
+                              String toAccountNumber, String fromAccountNumber) {
+        this.transactionId = transactionId;
+        this.transactionType = transactionType;
+        this.amount = amount;
+        this.description = description;
+        this.transactionDate = transactionDate;
+        this.balanceAfter = balanceAfter;
+        this.referenceNumber = referenceNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.fromAccountNumber = fromAccountNumber;
+    }
+
+    public static TransactionSummary from(Transaction transaction) {
+        return new TransactionSummary(transaction.getTransactionId(), transaction.getTransactionType(),
+                transaction.getAmount(), transaction.getDescription(), transaction.getTransactionDate(),
+                transaction.getBalanceAfter(), transaction.getReferenceNumber(), transaction.getToAccountNumber(),
+                transaction.getFromAccountNumber());
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(TransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+
+    public void setTransactionDate(LocalDateTime transactionDate) {
+        this.transactionDate = transactionDate;
+    }
+
+    public BigDecimal getBalanceAfter() {
+        return balanceAfter;
+    }
+
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+    }
+
+    public String getReferenceNumber() {
+        return referenceNumber;
+    }
+
+    public void setReferenceNumber(String referenceNumber) {
+        this.referenceNumber = referenceNumber;
+    }
+
+    public String getToAccountNumber() {
+        return toAccountNumber;
+    }
+
+    public void setToAccountNumber(String toAccountNumber) {
+        this.toAccountNumber = toAccountNumber;
+    }
+
+    public String getFromAccountNumber() {
+        return fromAccountNumber;
+    }
+
+    public void setFromAccountNumber(String fromAccountNumber) {
+        this.fromAccountNumber = fromAccountNumber;
+    }
+}
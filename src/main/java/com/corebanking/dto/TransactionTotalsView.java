@@ -0,0 +1,14 @@
+package com.corebanking.dto;
+
+import com.corebanking.entity.TransactionType;
+
+import java.math.BigDecimal;
+
+public interface TransactionTotalsView {
+
+    TransactionType getTransactionType();
+
+    Long getTxnCount();
+
+    BigDecimal getTotalAmount();
+}
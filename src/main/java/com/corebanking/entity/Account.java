@@ -2,16 +2,20 @@
 package com.corebanking.entity;
 
 import com.corebanking.common.BaseEntity;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Formula;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "accounts")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Account extends BaseEntity {
 
     @Id
@@ -19,7 +23,7 @@ public class Account extends BaseEntity {
     @Column(name = "account_id")
     private Long accountId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", referencedColumnName = "customer_id")
     private Customer customer;
 
@@ -46,6 +50,16 @@ public class Account extends BaseEntity {
     @Column(name = "closed_date")
     private LocalDateTime closedDate;
 
+    // Hot accounts keep part of their balance in this many sub-balance rows; 0 means not striped
+    @Column(name = "stripe_count", nullable = false)
+    private Integer stripeCount = 0;
+
+    // Read together with the row, but as a plain snapshot even when the row is locked FOR UPDATE;
+    // posting paths that lock the row replace it with the sum of the locked stripes
+    @Formula("(CASE WHEN stripe_count > 0 THEN (SELECT COALESCE(SUM(s.balance), 0) " +
+             "FROM account_balance_stripes s WHERE s.account_id = account_id) ELSE 0 END)")
+    private BigDecimal stripedBalance;
+
     // Constructors
     public Account() {}
 
@@ -91,12 +105,47 @@ public class Account extends BaseEntity {
         this.accountType = accountType;
     }
 
+    // For striped accounts the balance is the base row plus the sub-balances read with it
     public BigDecimal getBalance() {
-        return balance;
+        if (stripedBalance == null || !isStriped()) {
+            return balance;
+        }
+        return balance.add(stripedBalance);
     }
 
+    // Takes a total balance; on striped accounts only the base row absorbs the change
     public void setBalance(BigDecimal balance) {
-        this.balance = balance;
+        if (stripedBalance == null || !isStriped()) {
+            this.balance = balance;
+        } else {
+            this.balance = balance.subtract(stripedBalance);
+        }
+    }
+
+    @JsonIgnore
+    public BigDecimal getBaseBalance() {
+        return balance;
+    }
+
+    public void setBaseBalance(BigDecimal baseBalance) {
+        this.balance = baseBalance;
+    }
+
+    public void setStripedBalance(BigDecimal stripedBalance) {
+        this.stripedBalance = stripedBalance;
+    }
+
+    public Integer getStripeCount() {
+        return stripeCount;
+    }
+
+    public void setStripeCount(Integer stripeCount) {
+        this.stripeCount = stripeCount;
+    }
+
+    @JsonIgnore
+    public boolean isStriped() {
+        return stripeCount != null && stripeCount > 0;
     }
 
     public AccountStatus getStatus() {
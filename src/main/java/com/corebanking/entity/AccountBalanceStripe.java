@@ -0,0 +1,71 @@
+package com.corebanking.entity;
+
+import com.corebanking.common.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "account_balance_stripes",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "stripe_no"}))
+public class AccountBalanceStripe extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "stripe_id")
+    private Long stripeId;
+
+    // Plain id rather than an association, so stripe updates never load the account
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "stripe_no", nullable = false)
+    private Integer stripeNo;
+
+    @NotNull
+    @Column(name = "balance", precision = 15, scale = 2, nullable = false)
+    private BigDecimal balance = BigDecimal.ZERO;
+
+    // Constructors
+    public AccountBalanceStripe() {}
+
+    public AccountBalanceStripe(Long accountId, Integer stripeNo) {
+        this.accountId = accountId;
+        this.stripeNo = stripeNo;
+        this.balance = BigDecimal.ZERO;
+    }
+
+    // Getters and Setters
+    public Long getStripeId() {
+        return stripeId;
+    }
+
+    public void setStripeId(Long stripeId) {
+        this.stripeId = stripeId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public Integer getStripeNo() {
+        return stripeNo;
+    }
+
+    public void setStripeNo(Integer stripeNo) {
+        this.stripeNo = stripeNo;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+}
@@ -13,7 +13,9 @@ import java.time.LocalDateTime;
 public class AuditLog extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "audit_id_generator")
+    @TableGenerator(name = "audit_id_generator", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "audit_logs", allocationSize = 50)
     @Column(name = "audit_id")
     private Long auditId;
 
@@ -2,6 +2,7 @@
 package com.corebanking.entity;
 
 import com.corebanking.common.BaseEntity;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -11,14 +12,19 @@ import java.time.LocalDate;
 
 @Entity
 @Table(name = "customers")
+@NamedEntityGraph(name = Customer.WITH_USER, attributeNodes = @NamedAttributeNode("user"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Customer extends BaseEntity {
 
+    // KYC review lists the customers together with their login details
+    public static final String WITH_USER = "Customer.user";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "customer_id")
     private Long customerId;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "user_id")
     private User user;
 
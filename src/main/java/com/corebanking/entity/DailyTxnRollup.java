@@ -0,0 +1,105 @@
+package com.corebanking.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Derived from transactions and rebuilt from them when needed, so it carries no audit columns
+@Entity
+@Table(name = "daily_txn_rollups",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"rollup_date", "transaction_type", "account_type", "slot"}))
+public class DailyTxnRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    private Long rollupId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_type", nullable = false)
+    private AccountType accountType;
+
+    @Column(name = "slot", nullable = false)
+    private Integer slot;
+
+    @Column(name = "txn_count", nullable = false)
+    private Long txnCount = 0L;
+
+    @Column(name = "total_amount", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    // Constructors
+    public DailyTxnRollup() {}
+
+    public DailyTxnRollup(LocalDate rollupDate, TransactionType transactionType, AccountType accountType, Integer slot) {
+        this.rollupDate = rollupDate;
+        this.transactionType = transactionType;
+        this.accountType = accountType;
+        this.slot = slot;
+    }
+
+    // Getters and Setters
+    public Long getRollupId() {
+        return rollupId;
+    }
+
+    public void setRollupId(Long rollupId) {
+        this.rollupId = rollupId;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(TransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public void setAccountType(AccountType accountType) {
+        this.accountType = accountType;
+    }
+
+    public Integer getSlot() {
+        return slot;
+    }
+
+    public void setSlot(Integer slot) {
+        this.slot = slot;
+    }
+
+    public Long getTxnCount() {
+        return txnCount;
+    }
+
+    public void setTxnCount(Long txnCount) {
+        this.txnCount = txnCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
@@ -11,14 +11,18 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "fixed_deposits")
+@NamedEntityGraph(name = FixedDeposit.WITH_ACCOUNT, attributeNodes = @NamedAttributeNode("account"))
 public class FixedDeposit extends BaseEntity {
 
+    // FD maturity and closure post to the account, so those paths read it in the same select
+    public static final String WITH_ACCOUNT = "FixedDeposit.account";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "fd_id")
     private Long fdId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", referencedColumnName = "account_id")
     private Account account;
 
@@ -0,0 +1,6 @@
+package com.corebanking.entity;
+
+public enum IdempotencyStatus {
+    PENDING,
+    COMPLETED
+}
@@ -13,11 +13,13 @@ import java.time.LocalDateTime;
 public class InterestPosting extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "interest_posting_id_generator")
+    @TableGenerator(name = "interest_posting_id_generator", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "interest_postings", allocationSize = 50)
     @Column(name = "posting_id")
     private Long postingId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", referencedColumnName = "account_id")
     private Account account;
 
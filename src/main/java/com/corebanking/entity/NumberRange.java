@@ -0,0 +1,54 @@
+package com.corebanking.entity;
+
+import com.corebanking.common.BaseEntity;
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "number_ranges")
+public class NumberRange extends BaseEntity {
+
+    @Id
+    @Column(name = "range_name", length = 50)
+    private String rangeName;
+
+    // First value not yet leased to any node
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    @Column(name = "max_value", nullable = false)
+    private Long maxValue;
+
+    // Constructors
+    public NumberRange() {}
+
+    public NumberRange(String rangeName, Long nextValue, Long maxValue) {
+        this.rangeName = rangeName;
+        this.nextValue = nextValue;
+        this.maxValue = maxValue;
+    }
+
+    // Getters and Setters
+    public String getRangeName() {
+        return rangeName;
+    }
+
+    public void setRangeName(String rangeName) {
+        this.rangeName = rangeName;
+    }
+
+    public Long getNextValue() {
+        return nextValue;
+    }
+
+    public void setNextValue(Long nextValue) {
+        this.nextValue = nextValue;
+    }
+
+    public Long getMaxValue() {
+        return maxValue;
+    }
+
+    public void setMaxValue(Long maxValue) {
+        this.maxValue = maxValue;
+    }
+}
@@ -0,0 +1,7 @@
+package com.corebanking.entity;
+
+public enum PostingRequestStatus {
+    PENDING,
+    POSTED,
+    REJECTED
+}
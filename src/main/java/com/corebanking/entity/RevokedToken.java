@@ -0,0 +1,74 @@
+package com.corebanking.entity;
+
+import com.corebanking.common.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "revoked_token_id")
+    private Long revokedTokenId;
+
+    // The token's jti claim, never the token itself
+    @NotBlank
+    @Size(max = 64)
+    @Column(name = "token_id", nullable = false, unique = true)
+    private String tokenId;
+
+    @NotBlank
+    @Size(max = 50)
+    @Column(name = "username", nullable = false)
+    private String username;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public RevokedToken() {}
+
+    public RevokedToken(String tokenId, String username, LocalDateTime expiresAt) {
+        this.tokenId = tokenId;
+        this.username = username;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public Long getRevokedTokenId() {
+        return revokedTokenId;
+    }
+
+    public void setRevokedTokenId(Long revokedTokenId) {
+        this.revokedTokenId = revokedTokenId;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -2,6 +2,8 @@
 package com.corebanking.entity;
 
 import com.corebanking.common.BaseEntity;
+import com.corebanking.service.RecentTransactionListener;
+import com.corebanking.service.TransactionRollupListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -11,14 +13,18 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "transactions")
+@EntityListeners({RecentTransactionListener.class, TransactionRollupListener.class})
 public class Transaction extends BaseEntity {
 
+    // Pooled ids let Hibernate batch inserts; each node reserves allocationSize ids per round trip
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "transaction_id_generator")
+    @TableGenerator(name = "transaction_id_generator", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "transactions", allocationSize = 50)
     @Column(name = "transaction_id")
     private Long transactionId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", referencedColumnName = "account_id")
     private Account account;
 
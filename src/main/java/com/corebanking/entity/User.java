@@ -2,6 +2,8 @@
 package com.corebanking.entity;
 
 import com.corebanking.common.BaseEntity;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -11,6 +13,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User extends BaseEntity {
 
     @Id
@@ -31,6 +34,7 @@ public class User extends BaseEntity {
 
     @NotBlank
     @Size(max = 255)
+    @JsonIgnore
     @Column(name = "password_hash", nullable = false)
     private String passwordHash;
 
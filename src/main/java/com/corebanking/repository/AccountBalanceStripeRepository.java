@@ -0,0 +1,43 @@
+package com.corebanking.repository;
+
+import com.corebanking.entity.AccountBalanceStripe;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AccountBalanceStripeRepository extends JpaRepository<AccountBalanceStripe, Long> {
+    
+    @Modifying
+    @Query("UPDATE AccountBalanceStripe s SET s.balance = s.balance + :amount, s.updatedAt = :now " +
+           "WHERE s.accountId = :accountId AND s.stripeNo = :stripeNo")
+    int credit(@Param("accountId") Long accountId,
+               @Param("stripeNo") Integer stripeNo,
+               @Param("amount") BigDecimal amount,
+               @Param("now") LocalDateTime now);
+    
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM AccountBalanceStripe s WHERE s.accountId = :accountId")
+    BigDecimal sumBalance(@Param("accountId") Long accountId);
+    
+    // Stripes are always locked in stripe number order, after any account row locks
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceStripe s WHERE s.accountId = :accountId ORDER BY s.stripeNo")
+    List<AccountBalanceStripe> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceStripe s WHERE s.accountId IN :accountIds ORDER BY s.accountId, s.stripeNo")
+    List<AccountBalanceStripe> findByAccountIdInForUpdate(@Param("accountIds") Collection<Long> accountIds);
+    
+    @Modifying
+    @Query("DELETE FROM AccountBalanceStripe s WHERE s.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+}
@@ -1,12 +1,26 @@
 
 package com.corebanking.repository;
 
+import com.corebanking.dto.AccountBalanceView;
+import com.corebanking.dto.AccountNumberView;
+import com.corebanking.dto.AccountSummary;
+import com.corebanking.dto.AccountTotalsView;
+import com.corebanking.dto.AccountTypeView;
+import com.corebanking.dto.LockedAccountView;
 import com.corebanking.entity.Account;
 import com.corebanking.entity.AccountStatus;
 import com.corebanking.entity.AccountType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +29,16 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     
     List<Account> findByCustomer_CustomerId(Long customerId);
     
+    String SUMMARY_COLUMNS = "new com.corebanking.dto.AccountSummary(a.accountId, a.accountNumber, " +
+            "a.customer.customerId, a.accountType, a.balance, a.stripedBalance, a.status, a.openedDate, a.closedDate)";
+    
+    // Read APIs: one row from accounts per account, without joining or loading the customer and user
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Account a WHERE a.customer.customerId = :customerId ORDER BY a.accountId")
+    List<AccountSummary> findSummariesByCustomerId(@Param("customerId") Long customerId);
+    
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<AccountSummary> findSummaryByAccountNumber(@Param("accountNumber") String accountNumber);
+    
     Optional<Account> findByAccountNumber(String accountNumber);
     
     List<Account> findByStatus(AccountStatus status);
@@ -24,4 +48,58 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByAccountTypeAndStatus(AccountType accountType, AccountStatus status);
     
     Boolean existsByAccountNumber(String accountNumber);
+    
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.stripeCount > 0")
+    List<String> findStripedAccountNumbers();
+    
+    @Query("SELECT a.accountId AS accountId, a.accountNumber AS accountNumber FROM Account a " +
+           "WHERE a.customer.customerId = :customerId")
+    List<AccountNumberView> findAccountNumbersByCustomerId(@Param("customerId") Long customerId);
+    
+    @Query("SELECT a.accountId FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<Long> findAccountIdByAccountNumber(@Param("accountNumber") String accountNumber);
+    
+    @Query("SELECT a.accountId AS accountId, a.accountType AS accountType FROM Account a WHERE a.accountId IN :accountIds")
+    List<AccountTypeView> findAccountTypesByIds(@Param("accountIds") Collection<Long> accountIds);
+    
+    // Reporting: one row per type and status however many accounts there are. Stripes are summed per
+    // account first so that the join cannot multiply the base balances.
+    @Query(value = "SELECT a.account_type AS accountType, a.status AS status, COUNT(*) AS accountCount, " +
+                   "SUM(a.balance) + COALESCE(SUM(st.striped_balance), 0) AS totalBalance " +
+                   "FROM accounts a LEFT JOIN (SELECT account_id, SUM(balance) AS striped_balance " +
+                   "FROM account_balance_stripes GROUP BY account_id) st ON st.account_id = a.account_id " +
+                   "GROUP BY a.account_type, a.status",
+           nativeQuery = true)
+    List<AccountTotalsView> findTotalsByTypeAndStatus();
+    
+    @Query("SELECT a.accountId AS accountId, a.accountNumber AS accountNumber, a.customer.customerId AS customerId, " +
+           "a.balance AS balance, a.status AS status FROM Account a WHERE a.accountNumber IN :accountNumbers")
+    List<AccountBalanceView> findBalancesByAccountNumbers(@Param("accountNumbers") Collection<String> accountNumbers);
+    
+    // Scans the primary key in ascending order, so row locks are taken in account id order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountId IN :accountIds ORDER BY a.accountId")
+    List<Account> findAllByIdInForUpdate(@Param("accountIds") Collection<Long> accountIds);
+    
+    // Same lock order as findAllByIdInForUpdate, without hydrating the accounts and their customers
+    @Query(value = "SELECT account_id AS accountId, account_number AS accountNumber, customer_id AS customerId, " +
+                   "balance, status, stripe_count AS stripeCount " +
+                   "FROM accounts WHERE account_id IN (:accountIds) ORDER BY account_id FOR UPDATE",
+           nativeQuery = true)
+    List<LockedAccountView> lockBalancesByIds(@Param("accountIds") Collection<Long> accountIds);
+    
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.updatedAt = :now " +
+           "WHERE a.accountNumber = :accountNumber AND a.status = com.corebanking.entity.AccountStatus.ACTIVE")
+    int creditIfActive(@Param("accountNumber") String accountNumber,
+                       @Param("amount") BigDecimal amount,
+                       @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.updatedAt = :now " +
+           "WHERE a.accountNumber = :accountNumber AND a.status = com.corebanking.entity.AccountStatus.ACTIVE " +
+           "AND a.balance >= :amount")
+    int debitIfSufficient(@Param("accountNumber") String accountNumber,
+                          @Param("amount") BigDecimal amount,
+                          @Param("now") LocalDateTime now);
 }
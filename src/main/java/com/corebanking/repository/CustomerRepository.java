@@ -1,9 +1,13 @@
 
 package com.corebanking.repository;
 
+import com.corebanking.dto.CustomerIdentityView;
 import com.corebanking.entity.Customer;
 import com.corebanking.entity.KycStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,8 +18,17 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     
     Optional<Customer> findByUser_UserId(Long userId);
     
+    // Ownership checks only need the ids, not the User and Customer rows; inactive users own nothing
+    @Query("SELECT c.user.userId AS userId, c.customerId AS customerId FROM Customer c " +
+           "WHERE c.user.username = :username AND c.user.isActive = true")
+    Optional<CustomerIdentityView> findIdentityByUsername(@Param("username") String username);
+    
+    @Query("SELECT c.user.username FROM Customer c WHERE c.customerId = :customerId")
+    Optional<String> findUsernameByCustomerId(@Param("customerId") Long customerId);
+    
     Optional<Customer> findByPhoneNumber(String phoneNumber);
     
+    @EntityGraph(Customer.WITH_USER)
     List<Customer> findByKycStatus(KycStatus kycStatus);
     
     Boolean existsByPhoneNumber(String phoneNumber);
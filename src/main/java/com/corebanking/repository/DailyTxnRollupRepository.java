@@ -0,0 +1,52 @@
+package com.corebanking.repository;
+
+import com.corebanking.dto.TransactionTotalsView;
+import com.corebanking.entity.AccountType;
+import com.corebanking.entity.DailyTxnRollup;
+import com.corebanking.entity.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyTxnRollupRepository extends JpaRepository<DailyTxnRollup, Long> {
+    
+    @Modifying
+    @Query("UPDATE DailyTxnRollup r SET r.txnCount = r.txnCount + :count, r.totalAmount = r.totalAmount + :amount " +
+           "WHERE r.rollupDate = :date AND r.transactionType = :transactionType AND r.accountType = :accountType " +
+           "AND r.slot = :slot")
+    int increment(@Param("date") LocalDate date,
+                  @Param("transactionType") TransactionType transactionType,
+                  @Param("accountType") AccountType accountType,
+                  @Param("slot") Integer slot,
+                  @Param("count") long count,
+                  @Param("amount") BigDecimal amount);
+    
+    // At most days x types x account types x slots rows, however many postings the range holds
+    @Query("SELECT r.transactionType AS transactionType, SUM(r.txnCount) AS txnCount, SUM(r.totalAmount) AS totalAmount " +
+           "FROM DailyTxnRollup r WHERE r.rollupDate BETWEEN :from AND :to GROUP BY r.transactionType")
+    List<TransactionTotalsView> findTotalsByTransactionType(@Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    @Modifying
+    @Query("DELETE FROM DailyTxnRollup r WHERE r.rollupDate = :date")
+    int deleteByRollupDate(@Param("date") LocalDate date);
+    
+    // Backfill of one day from the transactions themselves, into slot 0
+    @Modifying
+    @Query(value = "INSERT INTO daily_txn_rollups (rollup_date, transaction_type, account_type, slot, txn_count, total_amount) " +
+                   "SELECT CAST(:date AS DATE), t.transaction_type, a.account_type, 0, COUNT(*), SUM(t.amount) " +
+                   "FROM transactions t JOIN accounts a ON a.account_id = t.account_id " +
+                   "WHERE t.transaction_date >= :from AND t.transaction_date < :to " +
+                   "GROUP BY t.transaction_type, a.account_type",
+           nativeQuery = true)
+    int insertFromTransactions(@Param("date") LocalDate date,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
+}
@@ -3,6 +3,7 @@ package com.corebanking.repository;
 
 import com.corebanking.entity.FixedDeposit;
 import com.corebanking.entity.FixedDepositStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,12 +18,16 @@ public interface FixedDepositRepository extends JpaRepository<FixedDeposit, Long
     
     List<FixedDeposit> findByAccount_AccountId(Long accountId);
     
+    // Each deposit of a customer can sit on a different account, and the account is part of the response
+    @EntityGraph(FixedDeposit.WITH_ACCOUNT)
     List<FixedDeposit> findByAccount_Customer_CustomerId(Long customerId);
     
+    @EntityGraph(FixedDeposit.WITH_ACCOUNT)
     Optional<FixedDeposit> findByFdNumber(String fdNumber);
     
     List<FixedDeposit> findByStatus(FixedDepositStatus status);
     
+    @EntityGraph(FixedDeposit.WITH_ACCOUNT)
     @Query("SELECT fd FROM FixedDeposit fd WHERE fd.status = 'ACTIVE' AND fd.maturityDate <= :date")
     List<FixedDeposit> findMaturedDeposits(@Param("date") LocalDateTime date);
     
@@ -0,0 +1,19 @@
+package com.corebanking.repository;
+
+import com.corebanking.entity.NumberRange;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface NumberRangeRepository extends JpaRepository<NumberRange, String> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM NumberRange r WHERE r.rangeName = :rangeName")
+    Optional<NumberRange> findForUpdate(@Param("rangeName") String rangeName);
+}
@@ -0,0 +1,30 @@
+package com.corebanking.repository;
+
+import com.corebanking.entity.PostingRequest;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PostingRequestRepository extends JpaRepository<PostingRequest, Long> {
+    
+    Optional<PostingRequest> findByRequestIdAndUsername(Long requestId, String username);
+    
+    Optional<PostingRequest> findByUsernameAndIdempotencyKey(String username, String idempotencyKey);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM PostingRequest r WHERE r.requestId = :requestId")
+    Optional<PostingRequest> findForUpdate(@Param("requestId") Long requestId);
+    
+    @Query("SELECT r.requestId FROM PostingRequest r WHERE r.status = com.corebanking.entity.PostingRequestStatus.PENDING " +
+           "AND r.createdAt < :cutoff ORDER BY r.createdAt")
+    List<Long> findPendingIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
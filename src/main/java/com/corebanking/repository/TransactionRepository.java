@@ -1,6 +1,7 @@
 
 package com.corebanking.repository;
 
+import com.corebanking.dto.TransactionSummary;
 import com.corebanking.entity.Transaction;
 import com.corebanking.entity.TransactionType;
 import org.springframework.data.domain.Page;
@@ -12,12 +13,42 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     
+    String SUMMARY_COLUMNS = "new com.corebanking.dto.TransactionSummary(t.transactionId, t.transactionType, " +
+            "t.amount, t.description, t.transactionDate, t.balanceAfter, t.referenceNumber, t.toAccountNumber, " +
+            "t.fromAccountNumber)";
+    
     Page<Transaction> findByAccount_AccountIdOrderByTransactionDateDesc(Long accountId, Pageable pageable);
     
+    // Read APIs select into TransactionSummary: one narrow row per posting, no entity, no Account proxy
+    // and nothing for the persistence context to track
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM Transaction t WHERE t.account.accountId = :accountId " +
+                   "ORDER BY t.transactionDate DESC",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE t.account.accountId = :accountId")
+    Page<TransactionSummary> findSummariesByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+    
+    // Keyset history: both queries walk idx_account_date backwards (InnoDB appends transaction_id to
+    // the index), so every page costs the same and no count query is issued
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Transaction t WHERE t.account.accountId = :accountId " +
+           "ORDER BY t.transactionDate DESC, t.transactionId DESC")
+    List<TransactionSummary> findLatestByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Transaction t WHERE t.account.accountId = :accountId " +
+           "AND (t.transactionDate < :transactionDate " +
+           "OR (t.transactionDate = :transactionDate AND t.transactionId < :transactionId)) " +
+           "ORDER BY t.transactionDate DESC, t.transactionId DESC")
+    List<TransactionSummary> findByAccountIdBefore(@Param("accountId") Long accountId,
+                                                   @Param("transactionDate") LocalDateTime transactionDate,
+                                                   @Param("transactionId") Long transactionId,
+                                                   Pageable pageable);
+    
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM Transaction t WHERE t.transactionId = :transactionId")
+    Optional<TransactionSummary> findSummaryById(@Param("transactionId") Long transactionId);
+    
     List<Transaction> findByAccount_AccountIdAndTransactionType(Long accountId, TransactionType transactionType);
     
     @Query("SELECT t FROM Transaction t WHERE t.account.accountId = :accountId AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate DESC")
@@ -26,4 +57,6 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                                                            @Param("endDate") LocalDateTime endDate);
     
     List<Transaction> findByTransactionDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    
+    boolean existsByReferenceNumber(String referenceNumber);
 }
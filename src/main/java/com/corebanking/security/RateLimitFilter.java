@@ -0,0 +1,124 @@
+package com.corebanking.security;
+
+import com.corebanking.common.TokenBuckets;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Token buckets per client and endpoint class, checked right after authentication so that one caller
+// cannot hold every database connection. Authenticated callers are limited by username wherever they
+// connect from; anonymous ones by client IP. Login has its own throttle and is not counted here.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum EndpointClass { POSTING, READ, REPORTS }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${banking.rate-limit.max-tracked:100000}")
+    private long maxTracked;
+
+    @Value("${banking.rate-limit.posting.capacity:20}")
+    private int postingCapacity;
+
+    @Value("${banking.rate-limit.posting.refill-per-second:10}")
+    private double postingRefillPerSecond;
+
+    @Value("${banking.rate-limit.read.capacity:100}")
+    private int readCapacity;
+
+    @Value("${banking.rate-limit.read.refill-per-second:50}")
+    private double readRefillPerSecond;
+
+    @Value("${banking.rate-limit.reports.capacity:5}")
+    private int reportsCapacity;
+
+    @Value("${banking.rate-limit.reports.refill-per-second:0.2}")
+    private double reportsRefillPerSecond;
+
+    private final Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+
+    @PostConstruct
+    public void init() {
+        limits.put(EndpointClass.POSTING, limit(EndpointClass.POSTING, postingCapacity, postingRefillPerSecond));
+        limits.put(EndpointClass.READ, limit(EndpointClass.READ, readCapacity, readRefillPerSecond));
+        limits.put(EndpointClass.REPORTS, limit(EndpointClass.REPORTS, reportsCapacity, reportsRefillPerSecond));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !enabled || path.startsWith("/auth/") || path.startsWith("/actuator/")
+                || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+        String client = authenticated ? "user:" + authentication.getName() : "ip:" + request.getRemoteAddr();
+
+        Limit limit = limits.get(classify(request));
+        long retryAfter = limit.buckets().acquire(client);
+        if (retryAfter > 0) {
+            (authenticated ? limit.userRejections() : limit.ipRejections()).increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Too many requests. Please try again later.");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = path(request);
+        if (path.startsWith("/reports/")) {
+            return EndpointClass.REPORTS;
+        }
+        if (path.startsWith("/transaction/") && !HttpMethod.GET.matches(request.getMethod())) {
+            return EndpointClass.POSTING;
+        }
+        return EndpointClass.READ;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private Limit limit(EndpointClass endpointClass, int capacity, double refillPerSecond) {
+        String bucket = endpointClass.name().toLowerCase(Locale.ROOT);
+        return new Limit(new TokenBuckets(capacity, refillPerSecond, maxTracked),
+                Counter.builder("banking.rate-limit.rejected").tag("bucket", bucket).tag("scope", "user").register(meterRegistry),
+                Counter.builder("banking.rate-limit.rejected").tag("bucket", bucket).tag("scope", "ip").register(meterRegistry));
+    }
+
+    private record Limit(TokenBuckets buckets, Counter userRejections, Counter ipRejections) {}
+}
@@ -0,0 +1,123 @@
+package com.corebanking.security;
+
+import com.corebanking.service.PrincipalChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+// A client sends the same bearer token on every request, so its signature check and user lookup are
+// done once and the result is kept until the token expires (or max-ttl, so that role and status
+// changes made elsewhere are picked up). Entries are keyed by a SHA-256 digest, never the raw token.
+@Component
+public class VerifiedTokenCache {
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.security.token-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${banking.security.token-cache.max-ttl-seconds:300}")
+    private long maxTtlSeconds;
+
+    private Cache<String, VerifiedToken> cache;
+
+    @PostConstruct
+    public void init() {
+        long maxTtlNanos = Duration.ofSeconds(maxTtlSeconds).toNanos();
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+                        long untilExpiry = Duration.ofMillis(token.expiresAtMillis() - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(digest, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verifiedTokens");
+    }
+
+    // Empty for tokens that fail verification, have expired or belong to an unknown or inactive user
+    public Optional<VerifiedToken> authenticate(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = cache.getIfPresent(digest);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return Optional.of(cached);
+        }
+
+        Optional<Claims> claims = tokenProvider.parseVerified(token);
+        if (claims.isEmpty() || claims.get().getExpiration() == null) {
+            return Optional.empty();
+        }
+
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(claims.get().getSubject());
+        } catch (UsernameNotFoundException e) {
+            return Optional.empty();
+        }
+        if (!userDetails.isEnabled()) {
+            return Optional.empty();
+        }
+
+        // The password hash is not needed after login and should not sit in the cache
+        UserDetails principal = User.withUserDetails(userDetails).password("").build();
+        VerifiedToken verified = new VerifiedToken(claims.get(), principal, claims.get().getExpiration().getTime());
+        cache.put(digest, verified);
+        return Optional.of(verified);
+    }
+
+    // Principal changes must not wait for max-ttl; these events are rare, so a scan is fine
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPrincipalChanged(PrincipalChangedEvent event) {
+        cache.asMap().values().removeIf(token -> token.userDetails().getUsername().equals(event.username()));
+    }
+
+    static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record VerifiedToken(Claims claims, UserDetails userDetails, long expiresAtMillis) {}
+}
@@ -1,10 +1,12 @@
 
 package com.corebanking.service;
 
+import com.corebanking.dto.AccountSummary;
 import com.corebanking.entity.*;
 import com.corebanking.repository.AccountRepository;
 import com.corebanking.repository.CustomerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,7 +14,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 
 @Service
 @Transactional
@@ -24,6 +25,12 @@ public class AccountService {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private NumberRangeAllocator numberRangeAllocator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Account createAccount(Long customerId, AccountType accountType) {
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
@@ -37,7 +44,9 @@ public class AccountService {
         String accountNumber = generateAccountNumber();
         
         Account account = new Account(customer, accountNumber, accountType);
-        return accountRepository.save(account);
+        Account saved = accountRepository.save(account);
+        publishPrincipalChanged(customerId);
+        return saved;
     }
 
     public List<Account> getCustomerAccounts(Long customerId) {
@@ -48,6 +57,16 @@ public class AccountService {
         return accountRepository.findByAccountNumber(accountNumber);
     }
 
+    @Transactional(readOnly = true)
+    public List<AccountSummary> getCustomerAccountSummaries(Long customerId) {
+        return accountRepository.findSummariesByCustomerId(customerId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<AccountSummary> getAccountSummary(String accountNumber) {
+        return accountRepository.findSummaryByAccountNumber(accountNumber);
+    }
+
     public Account updateAccountStatus(Long accountId, AccountStatus status) {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
@@ -57,7 +76,14 @@ public class AccountService {
             account.setClosedDate(LocalDateTime.now());
         }
         
-        return accountRepository.save(account);
+        Account saved = accountRepository.save(account);
+        publishPrincipalChanged(account.getCustomer().getCustomerId());
+        return saved;
+    }
+
+    private void publishPrincipalChanged(Long customerId) {
+        customerRepository.findUsernameByCustomerId(customerId)
+                .ifPresent(username -> eventPublisher.publishEvent(new PrincipalChangedEvent(username)));
     }
 
     public void updateAccountBalance(Long accountId, BigDecimal newBalance) {
@@ -69,13 +95,6 @@ public class AccountService {
     }
 
     private String generateAccountNumber() {
-        String accountNumber;
-        do {
-            Random random = new Random();
-            long number = 1000000000L + (long)(random.nextDouble() * 9000000000L);
-            accountNumber = String.valueOf(number);
-        } while (accountRepository.existsByAccountNumber(accountNumber));
-        
-        return accountNumber;
+        return numberRangeAllocator.nextAccountNumber();
     }
 }
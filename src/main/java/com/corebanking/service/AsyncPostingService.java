@@ -0,0 +1,222 @@
+package com.corebanking.service;
+
+import com.corebanking.entity.PostingRequest;
+import com.corebanking.entity.PostingRequestStatus;
+import com.corebanking.entity.Transaction;
+import com.corebanking.entity.TransactionType;
+import com.corebanking.repository.PostingRequestRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Accepted-then-processed postings. The request row is committed PENDING before the caller is answered;
+// a worker locks it and posts in the same transaction, so a request posts at most once however often it
+// is submitted. Anything still PENDING after a full queue or a restart is resubmitted by the sweeper.
+// An Idempotency-Key is also claimed through IdempotencyService, so it cannot post again synchronously.
+@Service
+public class AsyncPostingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncPostingService.class);
+
+    private static final int MAX_REASON_LENGTH = 255;
+
+    @Autowired
+    private PostingRequestRepository postingRequestRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Kept well below the Hikari pool size so synchronous requests still get connections
+    @Value("${banking.posting.async.workers:8}")
+    private int workers;
+
+    @Value("${banking.posting.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${banking.posting.async.stale-after-seconds:30}")
+    private long staleAfterSeconds;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ThreadPoolExecutor executor;
+
+    // Ids waiting in or running on the executor, so the sweeper does not queue them twice
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    private Counter postedCounter;
+
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        // Still bounded on virtual threads: the worker count is what protects the connection pool
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("posting-worker-", 0).factory()
+                : Thread.ofPlatform().name("posting-worker-", 0).daemon().factory();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+
+        Gauge.builder("banking.posting.async.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Accepted postings waiting for a worker")
+                .register(meterRegistry);
+        postedCounter = Counter.builder("banking.posting.async.requests").tag("outcome", "posted").register(meterRegistry);
+        rejectedCounter = Counter.builder("banking.posting.async.requests").tag("outcome", "rejected").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // Requests still queued stay PENDING and are picked up after the restart
+        executor.shutdownNow();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    public PostingRequest accept(String username, String idempotencyKey, String requestHash, TransactionType type,
+                                 String accountNumber, String toAccountNumber, BigDecimal amount, String description) {
+        if (idempotencyKey != null) {
+            Optional<PostingRequest> existing = postingRequestRepository.findByUsernameAndIdempotencyKey(username, idempotencyKey);
+            if (existing.isPresent()) {
+                return sameRequest(existing.get(), requestHash);
+            }
+        }
+
+        PostingRequest request;
+        try {
+            request = transactionTemplate.execute(status -> {
+                PostingRequest saved = postingRequestRepository.saveAndFlush(new PostingRequest(username, idempotencyKey,
+                        requestHash, type, accountNumber, toAccountNumber, amount, description));
+                if (idempotencyKey != null) {
+                    idempotencyService.claimForRequest(username, idempotencyKey, requestHash, saved.getRequestId());
+                }
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent retry with the same key was accepted first, or the key was sent synchronously
+            return postingRequestRepository.findByUsernameAndIdempotencyKey(username, idempotencyKey)
+                    .map(existing -> sameRequest(existing, requestHash))
+                    .orElseThrow(() -> new RuntimeException("Idempotency key was already used for a synchronous request"));
+        }
+
+        submit(request.getRequestId());
+        return request;
+    }
+
+    public Optional<PostingRequest> findRequest(Long requestId, String username) {
+        return postingRequestRepository.findByRequestIdAndUsername(requestId, username);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.posting.async.sweep-interval-ms:30000}")
+    public void resubmitPending() {
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(staleAfterSeconds);
+        for (Long requestId : postingRequestRepository.findPendingIdsCreatedBefore(cutoff, PageRequest.of(0, capacity))) {
+            submit(requestId);
+        }
+    }
+
+    private void submit(Long requestId) {
+        if (!queued.add(requestId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> process(requestId));
+        } catch (RejectedExecutionException e) {
+            // Left PENDING for the sweeper once the queue drains
+            queued.remove(requestId);
+        }
+    }
+
+    private void process(Long requestId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                PostingRequest request = postingRequestRepository.findForUpdate(requestId).orElse(null);
+                if (request == null || request.getStatus() != PostingRequestStatus.PENDING) {
+                    return;
+                }
+                Transaction transaction = post(request);
+                request.setStatus(PostingRequestStatus.POSTED);
+                request.setTransactionId(transaction.getTransactionId());
+                request.setReferenceNumber(transaction.getReferenceNumber());
+                if (request.getIdempotencyKey() != null) {
+                    idempotencyService.completeRequest(requestId, transaction);
+                }
+                postedCounter.increment();
+            });
+        } catch (TransientDataAccessException | TransactionException e) {
+            // Lock timeouts and connection shortages are retried by the sweeper instead of rejecting
+            logger.warn("Posting request {} deferred: {}", requestId, e.getMessage());
+        } catch (RuntimeException e) {
+            reject(requestId, e.getMessage());
+        } finally {
+            queued.remove(requestId);
+        }
+    }
+
+    private Transaction post(PostingRequest request) {
+        return switch (request.getTransactionType()) {
+            case DEPOSIT -> transactionService.deposit(request.getAccountNumber(), request.getAmount(), request.getDescription());
+            case WITHDRAWAL -> transactionService.withdraw(request.getAccountNumber(), request.getAmount(), request.getDescription());
+            case TRANSFER_OUT -> transactionService.transfer(request.getAccountNumber(), request.getToAccountNumber(),
+                    request.getAmount(), request.getDescription());
+            default -> throw new RuntimeException("Unsupported posting type " + request.getTransactionType());
+        };
+    }
+
+    // The posting's transaction was rolled back, so the outcome is recorded in a fresh one
+    private void reject(Long requestId, String reason) {
+        transactionTemplate.executeWithoutResult(status -> postingRequestRepository.findForUpdate(requestId)
+                .filter(request -> request.getStatus() == PostingRequestStatus.PENDING)
+                .ifPresent(request -> {
+                    request.setStatus(PostingRequestStatus.REJECTED);
+                    request.setFailureReason(reason == null || reason.length() <= MAX_REASON_LENGTH
+                            ? reason : reason.substring(0, MAX_REASON_LENGTH));
+                    if (request.getIdempotencyKey() != null) {
+                        idempotencyService.releaseRequest(requestId);
+                    }
+                    rejectedCounter.increment();
+                }));
+    }
+
+    private PostingRequest sameRequest(PostingRequest existing, String requestHash) {
+        if (!existing.getRequestHash().equals(requestHash)) {
+            throw new RuntimeException("Idempotency key was already used for a different request");
+        }
+        return existing;
+    }
+}
@@ -0,0 +1,183 @@
+package com.corebanking.service;
+
+import com.corebanking.entity.Account;
+import com.corebanking.entity.AccountBalanceStripe;
+import com.corebanking.repository.AccountBalanceStripeRepository;
+import com.corebanking.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Lock protocol for striped accounts: account rows first, in account id order (FOR UPDATE to debit,
+// FOR SHARE to credit), then stripe rows in stripe number order. Credits only share the account row,
+// so they run in parallel on different stripes; debits lock the row exclusively and see every stripe.
+@Service
+@Transactional
+public class BalanceStripeService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceStripeRepository stripeRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${banking.posting.striping.max-stripes:64}")
+    private int maxStripes;
+
+    private volatile Set<String> stripedAccounts = Set.of();
+
+    @PostConstruct
+    public void init() {
+        refreshStripedAccounts();
+    }
+
+    // Routing hint only; postings that miss a freshly striped account stay correct through
+    // Account.setBalance, they just contend on the account row
+    public boolean isStriped(String accountNumber) {
+        return stripedAccounts.contains(accountNumber);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.posting.striping.refresh-interval-ms:30000}")
+    @Transactional(readOnly = true)
+    public void refreshStripedAccounts() {
+        stripedAccounts = Set.copyOf(accountRepository.findStripedAccountNumbers());
+    }
+
+    public Account enableStriping(String accountNumber, int stripeCount) {
+        if (stripeCount < 2 || stripeCount > maxStripes) {
+            throw new RuntimeException("Stripe count must be between 2 and " + maxStripes);
+        }
+        Account account = lockAccount(accountNumber);
+        if (account.isStriped()) {
+            throw new RuntimeException("Account is already striped");
+        }
+
+        // The existing balance stays on the base row; new credits spread over the stripes
+        List<AccountBalanceStripe> stripes = new ArrayList<>(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes.add(new AccountBalanceStripe(account.getAccountId(), i));
+        }
+        stripeRepository.saveAll(stripes);
+        account.setStripeCount(stripeCount);
+        refreshAfterChange(accountNumber, true);
+        return accountRepository.save(account);
+    }
+
+    public Account disableStriping(String accountNumber) {
+        Account account = lockAccount(accountNumber);
+        if (!account.isStriped()) {
+            throw new RuntimeException("Account is not striped");
+        }
+
+        BigDecimal striped = BigDecimal.ZERO;
+        for (AccountBalanceStripe stripe : stripeRepository.findByAccountIdForUpdate(account.getAccountId())) {
+            striped = striped.add(stripe.getBalance());
+        }
+        stripeRepository.deleteByAccountId(account.getAccountId());
+        account.setBaseBalance(account.getBaseBalance().add(striped));
+        account.setStripeCount(0);
+        refreshAfterChange(accountNumber, false);
+        return accountRepository.save(account);
+    }
+
+    // Caller must hold a shared or exclusive lock on the account row.
+    // Returns the balance seen after the credit; concurrent credits may land in between.
+    BigDecimal credit(Account account, BigDecimal amount) {
+        int stripeNo = ThreadLocalRandom.current().nextInt(account.getStripeCount());
+        if (stripeRepository.credit(account.getAccountId(), stripeNo, amount, LocalDateTime.now()) != 1) {
+            throw new RuntimeException("Balance stripe " + stripeNo + " missing for account " + account.getAccountNumber());
+        }
+        return account.getBaseBalance().add(stripeRepository.sumBalance(account.getAccountId()));
+    }
+
+    // Caller must hold the exclusive lock on every account row. Locks the stripes of the striped ones
+    // and replaces the stripe total read with the row, which can miss stripe updates committed since
+    // the transaction's snapshot, with their current sum.
+    void lockStripes(Collection<Account> accounts) {
+        Map<Long, Account> striped = new HashMap<>();
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        for (Account account : accounts) {
+            if (account.isStriped()) {
+                striped.put(account.getAccountId(), account);
+                totals.put(account.getAccountId(), BigDecimal.ZERO);
+            }
+        }
+        if (striped.isEmpty()) {
+            return;
+        }
+        for (AccountBalanceStripe stripe : stripeRepository.findByAccountIdInForUpdate(striped.keySet())) {
+            totals.merge(stripe.getAccountId(), stripe.getBalance(), BigDecimal::add);
+        }
+        totals.forEach((accountId, total) -> striped.get(accountId).setStripedBalance(total));
+    }
+
+    // Caller must hold the exclusive lock on the account row, so no credit can run concurrently
+    // and the returned balance is exact
+    BigDecimal debit(Account account, BigDecimal amount) {
+        List<AccountBalanceStripe> stripes = stripeRepository.findByAccountIdForUpdate(account.getAccountId());
+        BigDecimal total = account.getBaseBalance();
+        for (AccountBalanceStripe stripe : stripes) {
+            total = total.add(stripe.getBalance());
+        }
+        if (total.compareTo(amount) < 0) {
+            throw new RuntimeException("Insufficient balance");
+        }
+
+        // Drain the base row first, then the fullest stripes, touching as few rows as possible
+        BigDecimal remaining = amount;
+        if (account.getBaseBalance().signum() > 0) {
+            BigDecimal taken = account.getBaseBalance().min(remaining);
+            account.setBaseBalance(account.getBaseBalance().subtract(taken));
+            remaining = remaining.subtract(taken);
+        }
+        stripes.sort(Comparator.comparing(AccountBalanceStripe::getBalance).reversed());
+        for (AccountBalanceStripe stripe : stripes) {
+            if (remaining.signum() == 0) {
+                break;
+            }
+            BigDecimal taken = stripe.getBalance().min(remaining);
+            if (taken.signum() > 0) {
+                stripe.setBalance(stripe.getBalance().subtract(taken));
+                remaining = remaining.subtract(taken);
+            }
+        }
+        return total.subtract(amount);
+    }
+
+    private Account lockAccount(String accountNumber) {
+        Long accountId = accountRepository.findAccountIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        return entityManager.find(Account.class, accountId, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    private void refreshAfterChange(String accountNumber, boolean striped) {
+        Set<String> updated = new HashSet<>(stripedAccounts);
+        if (striped) {
+            updated.add(accountNumber);
+        } else {
+            updated.remove(accountNumber);
+        }
+        stripedAccounts = Set.copyOf(updated);
+    }
+}
@@ -0,0 +1,291 @@
+package com.corebanking.service;
+
+import com.corebanking.common.ReferenceNumberGenerator;
+import com.corebanking.dto.AccountBalanceView;
+import com.corebanking.dto.BatchItemResult;
+import com.corebanking.dto.BatchOperation;
+import com.corebanking.dto.BatchTransactionItem;
+import com.corebanking.dto.BatchTransactionResponse;
+import com.corebanking.dto.LockedAccountView;
+import com.corebanking.entity.Account;
+import com.corebanking.entity.AccountBalanceStripe;
+import com.corebanking.entity.AccountStatus;
+import com.corebanking.entity.Transaction;
+import com.corebanking.entity.TransactionType;
+import com.corebanking.repository.AccountBalanceStripeRepository;
+import com.corebanking.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Transactional
+public class BatchPostingService {
+
+    private static final String UPDATE_BALANCE =
+            "UPDATE accounts SET balance = ?, updated_at = ?, updated_by = ? WHERE account_id = ?";
+
+    // Keeps IN lists well below driver and optimizer limits for large runs
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceStripeRepository stripeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReferenceNumberGenerator referenceNumberGenerator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${banking.posting.batch.max-items:5000}")
+    private int maxItems;
+
+    @Value("${banking.posting.batch.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    public BatchTransactionResponse post(List<BatchTransactionItem> items, Long customerId, String username) {
+        if (items.size() > maxItems) {
+            throw new RuntimeException("Batch exceeds the maximum of " + maxItems + " items");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        Set<String> accountNumbers = new LinkedHashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            String error = validate(items.get(i));
+            if (error != null) {
+                results[i] = BatchItemResult.rejected(i, error);
+                continue;
+            }
+            accountNumbers.add(items.get(i).getAccountNumber());
+            if (items.get(i).getOperation() == BatchOperation.TRANSFER) {
+                accountNumbers.add(items.get(i).getToAccountNumber());
+            }
+        }
+
+        Map<String, AccountState> accounts = lockAccounts(accountNumbers);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            try {
+                results[i] = apply(i, items.get(i), accounts, customerId, now, transactions);
+            } catch (RuntimeException e) {
+                results[i] = BatchItemResult.rejected(i, e.getMessage());
+            }
+        }
+
+        // One statement per touched account, however many items it received
+        List<Object[]> balanceRows = new ArrayList<>();
+        for (AccountState account : accounts.values()) {
+            if (account.dirty) {
+                balanceRows.add(new Object[] {account.balance.subtract(account.stripedBalance), Timestamp.valueOf(now),
+                        username, account.accountId});
+            }
+        }
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE, balanceRows, jdbcBatchSize, (ps, row) -> setRow(ps, row));
+
+        // Pooled transaction ids let Hibernate send these as JDBC batches; clearing per chunk keeps
+        // the persistence context small on large runs
+        for (int i = 0; i < transactions.size(); i++) {
+            entityManager.persist(transactions.get(i));
+            if ((i + 1) % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+
+        return new BatchTransactionResponse(List.of(results));
+    }
+
+    private String validate(BatchTransactionItem item) {
+        if (item == null || item.getOperation() == null) {
+            return "Operation is required";
+        }
+        if (item.getAccountNumber() == null || item.getAccountNumber().isBlank()) {
+            return "Account number is required";
+        }
+        if (item.getAmount() == null || item.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Amount must be positive";
+        }
+        if (item.getAmount().scale() > 2) {
+            return "Amount must have at most 2 decimal places";
+        }
+        if (item.getDescription() != null && item.getDescription().length() > 255) {
+            return "Description must not exceed 255 characters";
+        }
+        if (item.getOperation() == BatchOperation.TRANSFER) {
+            if (item.getToAccountNumber() == null || item.getToAccountNumber().isBlank()) {
+                return "Destination account number is required for transfers";
+            }
+            if (item.getToAccountNumber().equals(item.getAccountNumber())) {
+                return "Cannot transfer to the same account";
+            }
+        }
+        return null;
+    }
+
+    private Map<String, AccountState> lockAccounts(Set<String> accountNumbers) {
+        List<String> numbers = new ArrayList<>(accountNumbers);
+        List<Long> accountIds = new ArrayList<>();
+        for (int from = 0; from < numbers.size(); from += IN_CLAUSE_CHUNK) {
+            List<String> chunk = numbers.subList(from, Math.min(from + IN_CLAUSE_CHUNK, numbers.size()));
+            for (AccountBalanceView view : accountRepository.findBalancesByAccountNumbers(chunk)) {
+                accountIds.add(view.getAccountId());
+            }
+        }
+
+        // Chunks are locked in ascending id order, the same order every other posting path uses
+        accountIds.sort(null);
+        List<LockedAccountView> locked = new ArrayList<>();
+        List<Long> stripedIds = new ArrayList<>();
+        for (int from = 0; from < accountIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = accountIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, accountIds.size()));
+            for (LockedAccountView view : accountRepository.lockBalancesByIds(chunk)) {
+                locked.add(view);
+                if (view.getStripeCount() > 0) {
+                    stripedIds.add(view.getAccountId());
+                }
+            }
+        }
+
+        // Stripes come after every account row, as in BalanceStripeService. Locking them reads their
+        // latest committed balances, where a plain read could return an older snapshot.
+        Map<Long, BigDecimal> stripedBalances = new HashMap<>();
+        for (int from = 0; from < stripedIds.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = stripedIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK, stripedIds.size()));
+            for (AccountBalanceStripe stripe : stripeRepository.findByAccountIdInForUpdate(chunk)) {
+                stripedBalances.merge(stripe.getAccountId(), stripe.getBalance(), BigDecimal::add);
+            }
+        }
+
+        Map<String, AccountState> accounts = new HashMap<>();
+        for (LockedAccountView view : locked) {
+            accounts.put(view.getAccountNumber(),
+                    new AccountState(view, stripedBalances.getOrDefault(view.getAccountId(), BigDecimal.ZERO)));
+        }
+        return accounts;
+    }
+
+    private BatchItemResult apply(int index, BatchTransactionItem item, Map<String, AccountState> accounts,
+                                  Long customerId, LocalDateTime now, List<Transaction> transactions) {
+        AccountState account = accounts.get(item.getAccountNumber());
+        if (account == null || !account.customerId.equals(customerId)) {
+            throw new RuntimeException("Account access denied");
+        }
+        if (account.status != AccountStatus.ACTIVE) {
+            throw new RuntimeException("Account is not active");
+        }
+
+        BigDecimal amount = item.getAmount();
+        String referenceNumber = referenceNumberGenerator.next();
+
+        switch (item.getOperation()) {
+            case DEPOSIT -> {
+                account.credit(amount);
+                transactions.add(newTransaction(account, TransactionType.DEPOSIT, item, referenceNumber, now));
+            }
+            case WITHDRAW -> {
+                if (account.balance.compareTo(amount) < 0) {
+                    throw new RuntimeException("Insufficient balance");
+                }
+                account.debit(amount);
+                transactions.add(newTransaction(account, TransactionType.WITHDRAWAL, item, referenceNumber, now));
+            }
+            case TRANSFER -> {
+                AccountState toAccount = accounts.get(item.getToAccountNumber());
+                if (toAccount == null) {
+                    throw new RuntimeException("Destination account not found");
+                }
+                if (toAccount.status != AccountStatus.ACTIVE) {
+                    throw new RuntimeException("Both accounts must be active");
+                }
+                if (account.balance.compareTo(amount) < 0) {
+                    throw new RuntimeException("Insufficient balance");
+                }
+                account.debit(amount);
+                Transaction debitTransaction = newTransaction(account, TransactionType.TRANSFER_OUT, item, referenceNumber, now);
+                debitTransaction.setToAccountNumber(item.getToAccountNumber());
+                transactions.add(debitTransaction);
+
+                toAccount.credit(amount);
+                Transaction creditTransaction = newTransaction(toAccount, TransactionType.TRANSFER_IN, item, referenceNumber, now);
+                creditTransaction.setFromAccountNumber(item.getAccountNumber());
+                transactions.add(creditTransaction);
+            }
+        }
+        return BatchItemResult.posted(index, referenceNumber, account.balance);
+    }
+
+    private Transaction newTransaction(AccountState account, TransactionType type, BatchTransactionItem item,
+                                       String referenceNumber, LocalDateTime now) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(entityManager.getReference(Account.class, account.accountId));
+        transaction.setTransactionType(type);
+        transaction.setAmount(item.getAmount());
+        transaction.setDescription(item.getDescription());
+        transaction.setTransactionDate(now);
+        transaction.setBalanceAfter(account.balance);
+        transaction.setReferenceNumber(referenceNumber);
+        return transaction;
+    }
+
+    private static void setRow(PreparedStatement ps, Object[] row) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            ps.setObject(i + 1, row[i]);
+        }
+    }
+
+    private static class AccountState {
+        private final Long accountId;
+        private final Long customerId;
+        private final AccountStatus status;
+        // Striped accounts keep the stripes untouched and settle the whole batch on the base row
+        private final BigDecimal stripedBalance;
+        private BigDecimal balance;
+        private boolean dirty;
+
+        AccountState(LockedAccountView view, BigDecimal stripedBalance) {
+            this.accountId = view.getAccountId();
+            this.customerId = view.getCustomerId();
+            this.status = view.getStatus();
+            this.stripedBalance = stripedBalance;
+            this.balance = view.getBalance().add(stripedBalance);
+        }
+
+        void credit(BigDecimal amount) {
+            balance = balance.add(amount);
+            dirty = true;
+        }
+
+        void debit(BigDecimal amount) {
+            balance = balance.subtract(amount);
+            dirty = true;
+        }
+    }
+}
@@ -11,7 +11,6 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 import java.util.UUID;
 
 @Service
@@ -30,6 +29,9 @@ public class FixedDepositService {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private NumberRangeAllocator numberRangeAllocator;
+
     public FixedDeposit createFixedDeposit(String accountNumber, BigDecimal amount, 
                                           BigDecimal interestRate, Integer tenureMonths) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
@@ -147,14 +149,7 @@ public class FixedDepositService {
     }
 
     private String generateFdNumber() {
-        String fdNumber;
-        do {
-            Random random = new Random();
-            long number = 100000000L + (long)(random.nextDouble() * 900000000L);
-            fdNumber = "FD" + String.valueOf(number);
-        } while (fixedDepositRepository.existsByFdNumber(fdNumber));
-        
-        return fdNumber;
+        return numberRangeAllocator.nextFdNumber();
     }
 
     public Optional<FixedDeposit> getFixedDepositByNumber(String fdNumber) {
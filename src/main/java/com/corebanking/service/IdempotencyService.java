@@ -0,0 +1,201 @@
+package com.corebanking.service;
+
+import com.corebanking.dto.TransactionSummary;
+import com.corebanking.entity.IdempotencyKey;
+import com.corebanking.entity.IdempotencyStatus;
+import com.corebanking.entity.Transaction;
+import com.corebanking.repository.IdempotencyKeyRepository;
+import com.corebanking.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Keys for synchronous and asynchronous postings share idempotency_keys, so a key posts at most once
+// whichever way it is sent. A synchronous key is inserted in the same transaction as its posting: both
+// commit or neither does, so no failure or crash can leave a posting without its key or a key without
+// its posting. An asynchronous key is inserted with its posting request and completed by the worker.
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${banking.idempotency.cache.max-entries:100000}")
+    private long cacheMaxEntries;
+
+    @Value("${banking.idempotency.cache.ttl-minutes:15}")
+    private long cacheTtlMinutes;
+
+    @Value("${banking.idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    private Cache<CacheKey, Outcome> outcomes;
+
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    public void init() {
+        outcomes = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(Duration.ofMinutes(cacheTtlMinutes))
+                .build();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public static String fingerprint(String operation, String accountNumber, String toAccountNumber,
+                                     BigDecimal amount, String description) {
+        String canonical = String.join("\n", operation, accountNumber, String.valueOf(toAccountNumber),
+                amount == null ? "null" : amount.stripTrailingZeros().toPlainString(), String.valueOf(description));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Answers a retry from memory, falling back to the durable key table; never touches accounts
+    public Optional<TransactionSummary> findReplay(String username, String key, String requestHash) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        validateKey(key);
+
+        Outcome cached = outcomes.getIfPresent(new CacheKey(username, key));
+        if (cached != null) {
+            checkSameRequest(cached.requestHash, requestHash);
+            return Optional.of(cached.transaction);
+        }
+
+        Optional<IdempotencyKey> stored = idempotencyKeyRepository.findByUsernameAndIdempotencyKey(username, key);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        if (stored.get().getExpiresAt().isBefore(LocalDateTime.now())) {
+            requiresNew.executeWithoutResult(status -> idempotencyKeyRepository.deleteById(stored.get().getIdempotencyId()));
+            return Optional.empty();
+        }
+        return Optional.of(replay(stored.get(), requestHash));
+    }
+
+    // The posting joins the transaction that inserts the key, so in SEQUENCED mode a keyed posting is
+    // applied directly, like any posting made inside a caller's transaction, and never waits on a shard
+    // Answers with the account-free summary: the posted entity's Account may have been loaded in a
+    // session that is already closed (e.g. on a sequencer shard), so it must not reach serialization
+    public TransactionSummary execute(String username, String key, String requestHash, Supplier<Transaction> posting) {
+        if (key == null) {
+            return TransactionSummary.from(posting.get());
+        }
+        validateKey(key);
+
+        TransactionSummary transaction;
+        try {
+            transaction = transactionTemplate.execute(status -> {
+                // A concurrent retry blocks on the unique key until this transaction ends, then either
+                // collides with the committed key or, if this posting was rolled back, takes it over
+                IdempotencyKey claim = idempotencyKeyRepository.saveAndFlush(
+                        new IdempotencyKey(username, key, requestHash, LocalDateTime.now().plusHours(retentionHours)));
+                Transaction posted = posting.get();
+                claim.setStatus(IdempotencyStatus.COMPLETED);
+                claim.setTransactionId(posted.getTransactionId());
+                return TransactionSummary.from(posted);
+            });
+        } catch (DataIntegrityViolationException e) {
+            Optional<IdempotencyKey> stored = idempotencyKeyRepository.findByUsernameAndIdempotencyKey(username, key);
+            if (stored.isEmpty()) {
+                throw e;
+            }
+            return replay(stored.get(), requestHash);
+        }
+
+        outcomes.put(new CacheKey(username, key), new Outcome(requestHash, transaction));
+        return transaction;
+    }
+
+    // Called inside the transaction that stores the posting request, so the two commit together
+    public void claimForRequest(String username, String key, String requestHash, Long requestId) {
+        validateKey(key);
+        IdempotencyKey claim = new IdempotencyKey(username, key, requestHash, LocalDateTime.now().plusHours(retentionHours));
+        claim.setRequestId(requestId);
+        idempotencyKeyRepository.saveAndFlush(claim);
+    }
+
+    // Called inside the worker's posting transaction
+    public void completeRequest(Long requestId, Transaction transaction) {
+        idempotencyKeyRepository.findByRequestId(requestId).ifPresent(claim -> {
+            claim.setStatus(IdempotencyStatus.COMPLETED);
+            claim.setTransactionId(transaction.getTransactionId());
+        });
+    }
+
+    // Nothing was posted for a rejected request, so its key is free again, as for a failed synchronous posting
+    public void releaseRequest(Long requestId) {
+        idempotencyKeyRepository.findByRequestId(requestId).ifPresent(idempotencyKeyRepository::delete);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        requiresNew.execute(status -> idempotencyKeyRepository.deleteExpired(LocalDateTime.now()));
+    }
+
+    private TransactionSummary replay(IdempotencyKey stored, String requestHash) {
+        checkSameRequest(stored.getRequestHash(), requestHash);
+        if (stored.getStatus() != IdempotencyStatus.COMPLETED) {
+            throw new RuntimeException("A request with this idempotency key is still in progress");
+        }
+
+        if (stored.getTransactionId() == null) {
+            throw new RuntimeException("Original transaction not found");
+        }
+        TransactionSummary transaction = transactionRepository.findSummaryById(stored.getTransactionId())
+                .orElseThrow(() -> new RuntimeException("Original transaction not found"));
+        outcomes.put(new CacheKey(stored.getUsername(), stored.getIdempotencyKey()), new Outcome(stored.getRequestHash(), transaction));
+        return transaction;
+    }
+
+    private void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new RuntimeException("Idempotency key was already used for a different request");
+        }
+    }
+
+    private void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private record CacheKey(String username, String key) {}
+
+    private record Outcome(String requestHash, TransactionSummary transaction) {}
+}
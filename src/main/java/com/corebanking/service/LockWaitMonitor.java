@@ -0,0 +1,97 @@
+package com.corebanking.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class LockWaitMonitor {
+
+    // Accounts beyond the tracking limit are folded into a single bucket
+    private static final String OTHER_ACCOUNTS = "*";
+
+    private final Timer lockWaitTimer;
+
+    private final Timer conditionalUpdateTimer;
+
+    private final Map<String, AccountLockStats> accountStats = new ConcurrentHashMap<>();
+
+    @Value("${banking.posting.lock-stats.max-accounts:10000}")
+    private int maxTrackedAccounts;
+
+    public LockWaitMonitor(MeterRegistry meterRegistry) {
+        this.lockWaitTimer = Timer.builder("banking.posting.lock.wait")
+                .description("Time spent acquiring account row locks for postings")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        // A guarded UPDATE waits for the row lock and applies the change in one statement, so its time is
+        // kept apart from the pessimistic lock waits rather than passed off as one
+        this.conditionalUpdateTimer = Timer.builder("banking.posting.conditional.update")
+                .description("Time to execute single-statement guarded balance updates, lock wait included")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    public void record(String accountNumber, long waitNanos) {
+        lockWaitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+
+        AccountLockStats stats = accountStats.get(accountNumber);
+        if (stats == null) {
+            String key = accountStats.size() < maxTrackedAccounts ? accountNumber : OTHER_ACCOUNTS;
+            stats = accountStats.computeIfAbsent(key, k -> new AccountLockStats());
+        }
+        stats.record(waitNanos);
+    }
+
+    public void recordConditionalUpdate(long elapsedNanos) {
+        conditionalUpdateTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public List<Map<String, Object>> getTopAccounts(int limit) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        accountStats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, AccountLockStats> e) -> e.getValue().totalNanos.sum()).reversed())
+                .limit(limit)
+                .forEach(e -> result.add(e.getValue().toMap(e.getKey())));
+        return result;
+    }
+
+    public void reset() {
+        accountStats.clear();
+    }
+
+    private static class AccountLockStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        void record(long waitNanos) {
+            count.increment();
+            totalNanos.add(waitNanos);
+            maxNanos.accumulate(waitNanos);
+        }
+
+        Map<String, Object> toMap(String accountNumber) {
+            long locks = count.sum();
+            long total = totalNanos.sum();
+            Map<String, Object> map = new HashMap<>();
+            map.put("accountNumber", accountNumber);
+            map.put("lockCount", locks);
+            map.put("totalWaitMs", TimeUnit.NANOSECONDS.toMillis(total));
+            map.put("avgWaitMs", locks == 0 ? 0.0 : (double) total / locks / 1_000_000);
+            map.put("maxWaitMs", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+            return map;
+        }
+    }
+}
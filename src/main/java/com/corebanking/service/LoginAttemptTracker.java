@@ -0,0 +1,188 @@
+package com.corebanking.service;
+
+import com.corebanking.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Failure counts and lock-until times per user, kept in memory so that login never writes the users
+// row itself. Each change is queued per user and written by a background flush: any number of logins
+// by one user between flushes become one row update, and all queued users go out in one JDBC batch.
+// A user's state is seeded from their row on first touch, so it survives restarts up to the last
+// flush. With several instances, a lock written by another one is picked up from the row at the next
+// login here, but failures are counted per instance: each allows max-failures before locking.
+@Service
+public class LoginAttemptTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptTracker.class);
+
+    private static final String UPDATE_LOGIN_STATE = "UPDATE users SET last_login = COALESCE(?, last_login), " +
+            "failed_login_attempts = ?, account_locked_until = ? WHERE user_id = ?";
+
+    private static final LoginState CLEAR = new LoginState(0, null);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.security.lockout.max-failures:5}")
+    private int maxFailures;
+
+    @Value("${banking.security.lockout.lock-minutes:30}")
+    private long lockMinutes;
+
+    @Value("${banking.security.lockout.max-tracked:100000}")
+    private long maxTracked;
+
+    @Value("${banking.security.lockout.batch-size:500}")
+    private int batchSize;
+
+    private Cache<Long, LoginState> states;
+
+    // Written only from inside a compute on states, so each user's queued write is never older than their state
+    private final Map<Long, PendingWrite> pending = new ConcurrentHashMap<>();
+
+    private Counter flushedRows;
+
+    @PostConstruct
+    public void init() {
+        // An idle entry is only dropped long after its last change was flushed, so reseeding from the row is exact
+        states = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(Math.max(lockMinutes, 1) * 2))
+                .maximumSize(maxTracked)
+                .build();
+        Gauge.builder("banking.auth.login-state.pending", pending, Map::size)
+                .description("Users whose login state is waiting to be written")
+                .register(meterRegistry);
+        flushedRows = Counter.builder("banking.auth.login-state.flushed")
+                .description("Coalesced login-state row updates written")
+                .register(meterRegistry);
+    }
+
+    public boolean isLocked(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        LoginState state = states.asMap().compute(user.getUserId(), (userId, current) -> {
+            LoginState base = current != null ? withRowLock(current, user, now) : seed(user);
+            if (base.lockedUntil() != null && now.isAfter(base.lockedUntil())) {
+                queue(userId, null, CLEAR);
+                return CLEAR;
+            }
+            return base;
+        });
+        return state.lockedUntil() != null;
+    }
+
+    public void recordFailure(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        states.asMap().compute(user.getUserId(), (userId, current) -> {
+            LoginState base = current != null ? withRowLock(current, user, now) : seed(user);
+            int failures = base.failures() + 1;
+            LocalDateTime lockedUntil = failures >= maxFailures ? now.plusMinutes(lockMinutes) : base.lockedUntil();
+            LoginState next = new LoginState(failures, lockedUntil);
+            queue(userId, null, next);
+            return next;
+        });
+    }
+
+    public void recordSuccess(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        states.asMap().compute(user.getUserId(), (userId, current) -> {
+            queue(userId, now, CLEAR);
+            return CLEAR;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${banking.security.lockout.flush-interval-ms:1000}")
+    public void flush() {
+        List<Long> userIds = new ArrayList<>(pending.keySet());
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        Map<Long, PendingWrite> taken = new HashMap<>();
+        for (Long userId : userIds) {
+            PendingWrite write = pending.remove(userId);
+            if (write != null) {
+                taken.put(userId, write);
+                rows.add(new Object[] {timestamp(write.lastLogin()), write.state().failures(),
+                        timestamp(write.state().lockedUntil()), userId});
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LOGIN_STATE, rows, batchSize, (ps, row) -> {
+                ps.setObject(1, row[0], Types.TIMESTAMP);
+                ps.setInt(2, (Integer) row[1]);
+                ps.setObject(3, row[2], Types.TIMESTAMP);
+                ps.setLong(4, (Long) row[3]);
+            });
+            flushedRows.increment(rows.size());
+        } catch (RuntimeException e) {
+            // Put back for the next flush; a change queued meanwhile is newer and wins
+            logger.error("Failed to write login state for {} users, will retry", rows.size(), e);
+            taken.forEach((userId, write) -> pending.merge(userId, write, (newer, older) -> newer.withLastLogin(older.lastLogin())));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    private void queue(Long userId, LocalDateTime lastLogin, LoginState state) {
+        pending.merge(userId, new PendingWrite(lastLogin, state), (older, newer) -> newer.withLastLogin(older.lastLogin()));
+    }
+
+    private static LoginState seed(User user) {
+        int failures = user.getFailedLoginAttempts() == null ? 0 : user.getFailedLoginAttempts();
+        return new LoginState(failures, user.getAccountLockedUntil());
+    }
+
+    // The caller loads the user for every login, so the row shows locks set by other instances. Only
+    // a lock still in force is taken: this instance cannot have cleared one, as a locked user cannot
+    // log in, while an expired one may be older than this instance's state.
+    private static LoginState withRowLock(LoginState state, User user, LocalDateTime now) {
+        LocalDateTime rowLockedUntil = user.getAccountLockedUntil();
+        if (state.lockedUntil() != null || rowLockedUntil == null || !now.isBefore(rowLockedUntil)) {
+            return state;
+        }
+        return new LoginState(state.failures(), rowLockedUntil);
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time == null ? null : Timestamp.valueOf(time);
+    }
+
+    private record LoginState(int failures, LocalDateTime lockedUntil) {}
+
+    private record PendingWrite(LocalDateTime lastLogin, LoginState state) {
+
+        // Keeps the latest known login time when a later change carries none
+        PendingWrite withLastLogin(LocalDateTime earlier) {
+            return lastLogin != null || earlier == null ? this : new PendingWrite(earlier, state);
+        }
+    }
+}
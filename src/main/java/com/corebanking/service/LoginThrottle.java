@@ -0,0 +1,67 @@
+package com.corebanking.service;
+
+import com.corebanking.common.TokenBuckets;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+// Per-username and per-client-IP token buckets checked before any user lookup or BCrypt work, so a
+// credential-stuffing burst is turned away in memory. The IP is checked first, so a rejected
+// attempt from a flooding client does not use up the username's allowance.
+@Service
+public class LoginThrottle {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.security.login-throttle.username.capacity:5}")
+    private int usernameCapacity;
+
+    @Value("${banking.security.login-throttle.username.refill-per-minute:5}")
+    private double usernameRefillPerMinute;
+
+    @Value("${banking.security.login-throttle.ip.capacity:20}")
+    private int ipCapacity;
+
+    @Value("${banking.security.login-throttle.ip.refill-per-minute:30}")
+    private double ipRefillPerMinute;
+
+    @Value("${banking.security.login-throttle.max-tracked:100000}")
+    private long maxTracked;
+
+    private TokenBuckets usernameBuckets;
+
+    private TokenBuckets ipBuckets;
+
+    private Counter usernameThrottled;
+
+    private Counter ipThrottled;
+
+    @PostConstruct
+    public void init() {
+        usernameBuckets = new TokenBuckets(usernameCapacity, usernameRefillPerMinute / 60, maxTracked);
+        ipBuckets = new TokenBuckets(ipCapacity, ipRefillPerMinute / 60, maxTracked);
+        usernameThrottled = Counter.builder("banking.auth.login.throttled").tag("scope", "username").register(meterRegistry);
+        ipThrottled = Counter.builder("banking.auth.login.throttled").tag("scope", "ip").register(meterRegistry);
+    }
+
+    // Zero when the attempt may proceed, otherwise the seconds to wait before retrying
+    public long acquire(String username, String clientIp) {
+        long retryAfter = ipBuckets.acquire(clientIp);
+        if (retryAfter > 0) {
+            ipThrottled.increment();
+            return retryAfter;
+        }
+
+        retryAfter = usernameBuckets.acquire(username == null ? "" : username.toLowerCase(Locale.ROOT));
+        if (retryAfter > 0) {
+            usernameThrottled.increment();
+        }
+        return retryAfter;
+    }
+}
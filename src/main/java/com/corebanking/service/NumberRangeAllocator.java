@@ -0,0 +1,102 @@
+package com.corebanking.service;
+
+import com.corebanking.common.CheckDigits;
+import com.corebanking.entity.NumberRange;
+import com.corebanking.repository.NumberRangeRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class NumberRangeAllocator {
+
+    static final String ACCOUNT = "ACCOUNT";
+    static final String FIXED_DEPOSIT = "FIXED_DEPOSIT";
+
+    // Matches the V9 seed; used when the table is created by Hibernate instead of Flyway
+    private static final long FIRST_VALUE = 1_000_000_000L;
+    private static final long MAX_VALUE = 9_999_999_999L;
+
+    @Autowired
+    private NumberRangeRepository numberRangeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${banking.number-ranges.block-size:100}")
+    private int blockSize;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    public void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String nextAccountNumber() {
+        return CheckDigits.withLuhn(next(ACCOUNT));
+    }
+
+    public String nextFdNumber() {
+        return "FD" + CheckDigits.withLuhn(next(FIXED_DEPOSIT));
+    }
+
+    long next(String rangeName) {
+        Block block = blocks.computeIfAbsent(rangeName, name -> new Block());
+        block.lock.lock();
+        try {
+            if (block.next >= block.end) {
+                lease(rangeName, block);
+            }
+            return block.next++;
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    // Leased in its own short transaction so the range row is never held for the caller's transaction;
+    // numbers left in a block when the node stops are skipped, which only leaves gaps
+    private void lease(String rangeName, Block block) {
+        long[] leased;
+        try {
+            leased = requiresNew.execute(status -> leaseBlock(rangeName));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the range row first
+            leased = requiresNew.execute(status -> leaseBlock(rangeName));
+        }
+        block.next = leased[0];
+        block.end = leased[1];
+    }
+
+    private long[] leaseBlock(String rangeName) {
+        NumberRange range = numberRangeRepository.findForUpdate(rangeName)
+                .orElseGet(() -> numberRangeRepository.saveAndFlush(new NumberRange(rangeName, FIRST_VALUE, MAX_VALUE)));
+
+        long start = range.getNextValue();
+        if (start > range.getMaxValue()) {
+            throw new RuntimeException("Number range " + rangeName + " is exhausted");
+        }
+        long end = Math.min(start + blockSize, range.getMaxValue() + 1);
+        range.setNextValue(end);
+        numberRangeRepository.save(range);
+        return new long[] {start, end};
+    }
+
+    private static class Block {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next;
+        private long end;
+    }
+}
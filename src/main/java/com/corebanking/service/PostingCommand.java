@@ -0,0 +1,58 @@
+package com.corebanking.service;
+
+import com.corebanking.entity.Transaction;
+import com.corebanking.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+class PostingCommand {
+
+    final TransactionType type;
+    final String accountNumber;
+    final String toAccountNumber;
+    final BigDecimal amount;
+    final String description;
+    final String referenceNumber;
+    final CompletableFuture<Transaction> future = new CompletableFuture<>();
+
+    // Outcome staged by the shard writer, published only once its batch has committed
+    Transaction result;
+    RuntimeException rejection;
+
+    private PostingCommand(TransactionType type, String accountNumber, String toAccountNumber, BigDecimal amount,
+                           String description, String referenceNumber) {
+        this.type = type;
+        this.accountNumber = accountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+        this.description = description;
+        this.referenceNumber = referenceNumber;
+    }
+
+    static PostingCommand deposit(String accountNumber, BigDecimal amount, String description, String referenceNumber) {
+        return new PostingCommand(TransactionType.DEPOSIT, accountNumber, null, amount, description, referenceNumber);
+    }
+
+    static PostingCommand withdrawal(String accountNumber, BigDecimal amount, String description, String referenceNumber) {
+        return new PostingCommand(TransactionType.WITHDRAWAL, accountNumber, null, amount, description, referenceNumber);
+    }
+
+    static PostingCommand transfer(String fromAccountNumber, String toAccountNumber, BigDecimal amount,
+                                   String description, String referenceNumber) {
+        return new PostingCommand(TransactionType.TRANSFER_OUT, fromAccountNumber, toAccountNumber, amount,
+                description, referenceNumber);
+    }
+
+    boolean isTransfer() {
+        return type == TransactionType.TRANSFER_OUT;
+    }
+
+    void publishOutcome() {
+        if (rejection != null) {
+            future.completeExceptionally(rejection);
+        } else {
+            future.complete(result);
+        }
+    }
+}
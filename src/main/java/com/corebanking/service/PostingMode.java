@@ -0,0 +1,7 @@
+package com.corebanking.service;
+
+public enum PostingMode {
+    PESSIMISTIC,
+    CONDITIONAL,
+    SEQUENCED
+}
@@ -0,0 +1,300 @@
+package com.corebanking.service;
+
+import com.corebanking.common.MpscRingBuffer;
+import com.corebanking.dto.AccountBalanceView;
+import com.corebanking.entity.Account;
+import com.corebanking.entity.AccountStatus;
+import com.corebanking.entity.Transaction;
+import com.corebanking.entity.TransactionType;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.TransactionRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+@Service
+public class PostingSequencer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostingSequencer.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BalanceStripeService balanceStripeService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.posting.mode:PESSIMISTIC}")
+    private PostingMode postingMode;
+
+    @Value("${banking.posting.sequencer.shards:4}")
+    private int shardCount;
+
+    @Value("${banking.posting.sequencer.ring-size:8192}")
+    private int ringSize;
+
+    @Value("${banking.posting.sequencer.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${banking.posting.sequencer.timeout-ms:10000}")
+    private long timeoutMs;
+
+    private Shard[] shards;
+
+    private DistributionSummary batchSizes;
+
+    private Timer commitTimer;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (postingMode != PostingMode.SEQUENCED) {
+            return;
+        }
+
+        batchSizes = DistributionSummary.builder("banking.posting.sequencer.batch.size")
+                .description("Postings committed per group commit")
+                .register(meterRegistry);
+        commitTimer = Timer.builder("banking.posting.sequencer.commit")
+                .description("Time to apply and commit one posting batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+
+        running = true;
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, new MpscRingBuffer<>(ringSize));
+            Gauge.builder("banking.posting.sequencer.queue.depth", shards[i].queue, MpscRingBuffer::size)
+                    .tag("shard", String.valueOf(i))
+                    .register(meterRegistry);
+            shards[i].thread.start();
+        }
+        logger.info("Posting sequencer started with {} shards", shardCount);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (shards == null) {
+            return;
+        }
+        running = false;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.thread);
+            shard.thread.join(timeoutMs);
+        }
+    }
+
+    Transaction post(PostingCommand command) {
+        if (shards == null) {
+            throw new RuntimeException("Posting sequencer is not running");
+        }
+
+        // Transfers are sequenced with the debit side, which is the only leg that can be rejected
+        Shard shard = shards[Math.floorMod(command.accountNumber.hashCode(), shards.length)];
+        if (!running || !shard.queue.offer(command)) {
+            throw new RuntimeException("Posting queue is full, please retry");
+        }
+        LockSupport.unpark(shard.thread);
+
+        try {
+            return command.future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Posting outcome unknown, check transaction " + command.referenceNumber);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for posting");
+        }
+    }
+
+    // Callers are answered only after the batch has committed: a posting is validated against
+    // locked balances in apply(), and an answer given earlier could turn out to be a rejection
+    private void flush(List<PostingCommand> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(batch));
+        } catch (RuntimeException e) {
+            logger.error("Posting batch of {} failed", batch.size(), e);
+            RuntimeException failure = new RuntimeException("Posting failed: " + e.getMessage());
+            for (PostingCommand command : batch) {
+                command.future.completeExceptionally(failure);
+            }
+            return;
+        }
+        commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizes.record(batch.size());
+
+        for (PostingCommand command : batch) {
+            command.publishOutcome();
+        }
+    }
+
+    private void apply(List<PostingCommand> batch) {
+        Set<String> accountNumbers = new HashSet<>();
+        for (PostingCommand command : batch) {
+            accountNumbers.add(command.accountNumber);
+            if (command.isTransfer()) {
+                accountNumbers.add(command.toAccountNumber);
+            }
+        }
+
+        // Balances are re-read under lock for every batch rather than kept across batches,
+        // so cross-shard transfers and postings made outside the sequencer stay correct
+        List<Long> accountIds = accountRepository.findBalancesByAccountNumbers(accountNumbers).stream()
+                .map(AccountBalanceView::getAccountId)
+                .toList();
+        Map<String, Account> accounts = new HashMap<>();
+        if (!accountIds.isEmpty()) {
+            for (Account account : accountRepository.findAllByIdInForUpdate(accountIds)) {
+                accounts.put(account.getAccountNumber(), account);
+            }
+            balanceStripeService.lockStripes(accounts.values());
+        }
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (PostingCommand command : batch) {
+            try {
+                command.result = applyCommand(command, accounts, transactions);
+            } catch (RuntimeException e) {
+                command.rejection = e;
+            }
+        }
+
+        // Each touched account is flushed once by dirty checking, however many postings it received
+        transactionRepository.saveAll(transactions);
+    }
+
+    private Transaction applyCommand(PostingCommand command, Map<String, Account> accounts, List<Transaction> transactions) {
+        if (command.amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new RuntimeException("Amount must be positive");
+        }
+
+        if (command.isTransfer()) {
+            Account fromAccount = accounts.get(command.accountNumber);
+            Account toAccount = accounts.get(command.toAccountNumber);
+            if (fromAccount == null) {
+                throw new RuntimeException("Source account not found");
+            }
+            if (toAccount == null) {
+                throw new RuntimeException("Destination account not found");
+            }
+            if (fromAccount.getStatus() != AccountStatus.ACTIVE || toAccount.getStatus() != AccountStatus.ACTIVE) {
+                throw new RuntimeException("Both accounts must be active");
+            }
+            if (fromAccount.getBalance().compareTo(command.amount) < 0) {
+                throw new RuntimeException("Insufficient balance");
+            }
+
+            fromAccount.setBalance(fromAccount.getBalance().subtract(command.amount));
+            Transaction debitTransaction = newTransaction(command, fromAccount, TransactionType.TRANSFER_OUT);
+            debitTransaction.setToAccountNumber(command.toAccountNumber);
+            transactions.add(debitTransaction);
+
+            toAccount.setBalance(toAccount.getBalance().add(command.amount));
+            Transaction creditTransaction = newTransaction(command, toAccount, TransactionType.TRANSFER_IN);
+            creditTransaction.setFromAccountNumber(command.accountNumber);
+            transactions.add(creditTransaction);
+            return debitTransaction;
+        }
+
+        Account account = accounts.get(command.accountNumber);
+        if (account == null) {
+            throw new RuntimeException("Account not found");
+        }
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new RuntimeException("Account is not active");
+        }
+
+        if (command.type == TransactionType.WITHDRAWAL) {
+            if (account.getBalance().compareTo(command.amount) < 0) {
+                throw new RuntimeException("Insufficient balance");
+            }
+            account.setBalance(account.getBalance().subtract(command.amount));
+        } else {
+            account.setBalance(account.getBalance().add(command.amount));
+        }
+
+        Transaction transaction = newTransaction(command, account, command.type);
+        transactions.add(transaction);
+        return transaction;
+    }
+
+    private Transaction newTransaction(PostingCommand command, Account account, TransactionType type) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setTransactionType(type);
+        transaction.setAmount(command.amount);
+        transaction.setDescription(command.description);
+        transaction.setTransactionDate(LocalDateTime.now());
+        transaction.setBalanceAfter(account.getBalance());
+        transaction.setReferenceNumber(command.referenceNumber);
+        return transaction;
+    }
+
+    private class Shard implements Runnable {
+
+        private final MpscRingBuffer<PostingCommand> queue;
+        private final Thread thread;
+
+        Shard(int index, MpscRingBuffer<PostingCommand> queue) {
+            this.queue = queue;
+            this.thread = new Thread(this, "posting-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<PostingCommand> batch = new ArrayList<>(maxBatchSize);
+            while (running || !queue.isEmpty()) {
+                queue.drainTo(batch, maxBatchSize);
+                if (batch.isEmpty()) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                try {
+                    flush(batch);
+                } catch (RuntimeException e) {
+                    logger.error("Unexpected error in posting shard", e);
+                }
+                batch.clear();
+            }
+        }
+    }
+}
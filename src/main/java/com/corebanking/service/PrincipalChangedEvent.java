@@ -0,0 +1,4 @@
+package com.corebanking.service;
+
+// Published when a user's accounts or login status change, so that cached ownership is reloaded
+public record PrincipalChangedEvent(String username) {}
@@ -0,0 +1,16 @@
+package com.corebanking.service;
+
+import java.util.Map;
+import java.util.Optional;
+
+// An authenticated customer in banking terms: login, customer profile and owned accounts by number
+public record PrincipalContext(Long userId, Long customerId, Map<String, Long> accounts) {
+
+    public boolean owns(String accountNumber) {
+        return accountNumber != null && accounts.containsKey(accountNumber);
+    }
+
+    public Optional<Long> accountId(String accountNumber) {
+        return accountNumber == null ? Optional.empty() : Optional.ofNullable(accounts.get(accountNumber));
+    }
+}
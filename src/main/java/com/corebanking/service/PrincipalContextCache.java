@@ -0,0 +1,88 @@
+package com.corebanking.service;
+
+import com.corebanking.dto.AccountNumberView;
+import com.corebanking.dto.CustomerIdentityView;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Ownership checks run before every account operation, so the username -> customer -> accounts chain is
+// resolved once and then answered from memory. Changes made on this node evict the entry after commit;
+// the TTL bounds how long a change made through another node can go unseen.
+@Service
+public class PrincipalContextCache {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.principal-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${banking.principal-cache.max-size:100000}")
+    private long maxSize;
+
+    private Cache<String, PrincipalContext> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principalContexts");
+    }
+
+    // Empty for unknown or inactive users and for users without a customer profile; those are not
+    // cached, so a profile created afterwards is picked up by the next request
+    public Optional<PrincipalContext> find(String username) {
+        return Optional.ofNullable(cache.get(username, this::load));
+    }
+
+    public boolean owns(String username, String accountNumber) {
+        return find(username).map(context -> context.owns(accountNumber)).orElse(false);
+    }
+
+    public Optional<Long> ownedAccountId(String username, String accountNumber) {
+        return find(username).flatMap(context -> context.accountId(accountNumber));
+    }
+
+    // Invalidation waits for a load of the same user that is in flight, so a load that read the
+    // state before the change cannot be left behind in the cache
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPrincipalChanged(PrincipalChangedEvent event) {
+        cache.invalidate(event.username());
+    }
+
+    private PrincipalContext load(String username) {
+        Optional<CustomerIdentityView> identity = customerRepository.findIdentityByUsername(username);
+        if (identity.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Long> accounts = new HashMap<>();
+        for (AccountNumberView account : accountRepository.findAccountNumbersByCustomerId(identity.get().getCustomerId())) {
+            accounts.put(account.getAccountNumber(), account.getAccountId());
+        }
+        return new PrincipalContext(identity.get().getUserId(), identity.get().getCustomerId(), Map.copyOf(accounts));
+    }
+}
@@ -0,0 +1,196 @@
+package com.corebanking.service;
+
+import com.corebanking.dto.TransactionSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Latest postings per account for first-page history reads. Entries are filled from the database on a
+// miss and then kept current by RecentTransactionListener after every committed insert on this node.
+// Postings committed by other nodes never reach it, so an entry is dropped ttl-seconds after its fill
+// however often it is updated; the weigher bounds the total memory.
+@Service
+public class RecentTransactionCache {
+
+    // Rough retained size of one summary with its strings and decimals, and of an entry's fixed parts
+    private static final int SUMMARY_BYTES = 400;
+    private static final int ENTRY_BYTES = 128;
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.recent-transactions.capacity:20}")
+    private int capacity;
+
+    @Value("${banking.recent-transactions.max-memory-mb:64}")
+    private long maxMemoryMb;
+
+    @Value("${banking.recent-transactions.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private Cache<Long, RecentTransactions> cache;
+
+    // Bumped after every committed posting; a fill is discarded if its account's stripe moved meanwhile
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @PostConstruct
+    public void init() {
+        int entryWeight = ENTRY_BYTES + capacity * SUMMARY_BYTES;
+        long ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxMemoryMb * 1024 * 1024)
+                .weigher((Long accountId, RecentTransactions entry) -> entryWeight)
+                .expireAfter(new Expiry<Long, RecentTransactions>() {
+                    @Override
+                    public long expireAfterCreate(Long accountId, RecentTransactions entry, long currentTime) {
+                        return ttlNanos;
+                    }
+
+                    // Recording a local posting must not push back the deadline set by the fill
+                    @Override
+                    public long expireAfterUpdate(Long accountId, RecentTransactions entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long accountId, RecentTransactions entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "recentTransactions");
+        Gauge.builder("banking.transactions.recent.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of first-page history reads served from memory")
+                .register(meterRegistry);
+        Gauge.builder("banking.transactions.recent.memory", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Estimated bytes held by the recent-transactions cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public boolean isCacheable(Pageable pageable) {
+        return pageable.getPageNumber() == 0 && pageable.getPageSize() <= capacity && pageable.getSort().isUnsorted();
+    }
+
+    public Optional<Page<TransactionSummary>> firstPage(Long accountId, Pageable pageable) {
+        RecentTransactions entry = cache.getIfPresent(accountId);
+        return entry == null ? Optional.empty() : Optional.of(entry.page(pageable));
+    }
+
+    // The page a miss should read from the database so that the entry can answer any cacheable size
+    public Pageable fillRequest() {
+        return PageRequest.of(0, capacity);
+    }
+
+    public long generation(Long accountId) {
+        return generations.get(stripe(accountId));
+    }
+
+    public void fill(Long accountId, long generation, Page<TransactionSummary> latest) {
+        cache.asMap().computeIfAbsent(accountId, id -> {
+            if (generations.get(stripe(id)) != generation) {
+                return null;
+            }
+            RecentTransactions entry = new RecentTransactions(capacity, latest.getTotalElements());
+            List<TransactionSummary> rows = latest.getContent();
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                entry.add(rows.get(i), false);
+            }
+            return entry;
+        });
+    }
+
+    // Called after commit. Accounts that are not cached stay uncached until their next read.
+    public void record(Long accountId, TransactionSummary summary) {
+        generations.incrementAndGet(stripe(accountId));
+        cache.asMap().computeIfPresent(accountId, (id, entry) -> {
+            entry.add(summary, true);
+            return entry;
+        });
+    }
+
+    private static int stripe(Long accountId) {
+        return Math.floorMod(Long.hashCode(accountId), GENERATION_STRIPES);
+    }
+
+    private static class RecentTransactions {
+
+        private static final Comparator<TransactionSummary> NEWEST_FIRST = Comparator
+                .comparing(TransactionSummary::getTransactionDate, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(TransactionSummary::getTransactionId, Comparator.nullsLast(Comparator.reverseOrder()));
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final TransactionSummary[] ring;
+        private int head;
+        private int size;
+        private long total;
+
+        RecentTransactions(int capacity, long total) {
+            this.ring = new TransactionSummary[capacity];
+            this.total = total;
+        }
+
+        void add(TransactionSummary summary, boolean counted) {
+            lock.lock();
+            try {
+                // A posting that committed just before the fill query can be recorded a second time
+                for (int i = 0; i < size; i++) {
+                    if (summary.getTransactionId().equals(ring[i].getTransactionId())) {
+                        return;
+                    }
+                }
+                ring[head] = summary;
+                head = (head + 1) % ring.length;
+                size = Math.min(size + 1, ring.length);
+                if (counted) {
+                    total++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Page<TransactionSummary> page(Pageable pageable) {
+            TransactionSummary[] snapshot;
+            long snapshotTotal;
+            lock.lock();
+            try {
+                snapshot = Arrays.copyOf(ring, size);
+                snapshotTotal = total;
+            } finally {
+                lock.unlock();
+            }
+
+            // Concurrent postings can commit out of date order, so order on read rather than on write
+            Arrays.sort(snapshot, NEWEST_FIRST);
+            List<TransactionSummary> content = new ArrayList<>(Arrays.asList(snapshot).subList(0,
+                    Math.min(pageable.getPageSize(), snapshot.length)));
+            return new PageImpl<>(content, pageable, snapshotTotal);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.corebanking.service;
+
+import com.corebanking.dto.TransactionSummary;
+import com.corebanking.entity.Transaction;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Entity listener rather than calls in each posting path, so single postings, the sequencer and
+// batch postings all keep the recent-transactions cache current. Created by Spring through
+// Hibernate's bean container; only committed postings reach the cache.
+public class RecentTransactionListener {
+
+    // Lazy for the same reason as in TransactionRollupListener: it must not depend on the order in
+    // which the EntityManagerFactory and the cache are created
+    @Lazy
+    @Autowired
+    private RecentTransactionCache recentTransactionCache;
+
+    @PostPersist
+    public void transactionPersisted(Transaction transaction) {
+        if (recentTransactionCache == null || transaction.getAccount() == null) {
+            return;
+        }
+        Long accountId = transaction.getAccount().getAccountId();
+        TransactionSummary summary = TransactionSummary.from(transaction);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recentTransactionCache.record(accountId, summary);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentTransactionCache.record(accountId, summary);
+            }
+        });
+    }
+}
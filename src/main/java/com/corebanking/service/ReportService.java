@@ -1,21 +1,24 @@
 
 package com.corebanking.service;
 
-import com.corebanking.entity.Account;
-import com.corebanking.entity.Transaction;
+import com.corebanking.dto.AccountTotalsView;
+import com.corebanking.dto.TransactionTotalsView;
+import com.corebanking.entity.AccountStatus;
 import com.corebanking.entity.TransactionType;
 import com.corebanking.repository.AccountRepository;
-import com.corebanking.repository.TransactionRepository;
+import com.corebanking.repository.DailyTxnRollupRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 public class ReportService {
@@ -26,49 +29,53 @@ public class ReportService {
     private AccountRepository accountRepository;
 
     @Autowired
-    private TransactionRepository transactionRepository;
+    private DailyTxnRollupRepository dailyTxnRollupRepository;
 
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    // Aggregated in the database: a handful of grouped rows come back whatever the size of the book
     public Map<String, Object> getDashboardStats() {
         Map<String, Object> stats = new HashMap<>();
         
-        List<Account> allAccounts = accountRepository.findAll();
-        BigDecimal totalBalance = allAccounts.stream()
-                .map(Account::getBalance)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalAccounts = 0;
+        long activeAccounts = 0;
+        BigDecimal totalBalance = BigDecimal.ZERO;
+        Map<String, AccountTotals> byType = new TreeMap<>();
+        Map<String, AccountTotals> byStatus = new TreeMap<>();
         
-        stats.put("totalAccounts", allAccounts.size());
+        for (AccountTotalsView totals : accountRepository.findTotalsByTypeAndStatus()) {
+            totalAccounts += totals.getAccountCount();
+            totalBalance = totalBalance.add(totals.getTotalBalance());
+            if (totals.getStatus() == AccountStatus.ACTIVE) {
+                activeAccounts += totals.getAccountCount();
+            }
+            AccountTotals group = new AccountTotals(totals.getAccountCount(), totals.getTotalBalance());
+            byType.merge(totals.getAccountType().name(), group, AccountTotals::plus);
+            byStatus.merge(totals.getStatus().name(), group, AccountTotals::plus);
+        }
+        
+        stats.put("totalAccounts", totalAccounts);
         stats.put("totalBalance", totalBalance);
-        stats.put("activeAccounts", allAccounts.stream().mapToInt(acc -> 
-            acc.getStatus().name().equals("ACTIVE") ? 1 : 0).sum());
+        stats.put("activeAccounts", activeAccounts);
+        stats.put("byType", byType);
+        stats.put("byStatus", byStatus);
         
         return stats;
     }
 
+    // Reports are whole days from the rollups; the time of day on the bounds is ignored
     public Map<String, Object> getTransactionStats(LocalDateTime startDate, LocalDateTime endDate) {
         Map<String, Object> stats = new HashMap<>();
         
-        List<Transaction> transactions = transactionRepository.findByTransactionDateBetween(startDate, endDate);
-        
-        long totalTransactions = transactions.size();
-        BigDecimal totalDeposits = transactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.DEPOSIT)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-        BigDecimal totalWithdrawals = transactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.WITHDRAWAL)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-        BigDecimal totalTransfers = transactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.TRANSFER)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Map<TransactionType, TransactionTotalsView> totals = totalsByType(startDate.toLocalDate(), endDate.toLocalDate());
+        long totalTransactions = totals.values().stream().mapToLong(TransactionTotalsView::getTxnCount).sum();
         
         stats.put("totalTransactions", totalTransactions);
-        stats.put("totalDeposits", totalDeposits);
-        stats.put("totalWithdrawals", totalWithdrawals);
-        stats.put("totalTransfers", totalTransfers);
+        stats.put("totalDeposits", amount(totals, TransactionType.DEPOSIT));
+        stats.put("totalWithdrawals", amount(totals, TransactionType.WITHDRAWAL));
+        // Each transfer posts a TRANSFER_OUT and a TRANSFER_IN leg; it is counted once, by its debit
+        stats.put("totalTransfers", amount(totals, TransactionType.TRANSFER_OUT));
         
         return stats;
     }
@@ -76,30 +83,39 @@ public class ReportService {
     public Map<String, BigDecimal> getMonthlyTransactionSummary(int year, int month) {
         Map<String, BigDecimal> summary = new HashMap<>();
         
-        LocalDateTime startDate = LocalDateTime.of(year, month, 1, 0, 0);
-        LocalDateTime endDate = startDate.plusMonths(1).minusDays(1).withHour(23).withMinute(59).withSecond(59);
+        LocalDate startDate = LocalDate.of(year, month, 1);
+        Map<TransactionType, TransactionTotalsView> totals = totalsByType(startDate, startDate.plusMonths(1).minusDays(1));
         
-        List<Transaction> monthlyTransactions = transactionRepository.findByTransactionDateBetween(startDate, endDate);
-        
-        BigDecimal deposits = monthlyTransactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.DEPOSIT)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-        BigDecimal withdrawals = monthlyTransactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.WITHDRAWAL)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-        BigDecimal transfers = monthlyTransactions.stream()
-                .filter(t -> t.getTransactionType() == TransactionType.TRANSFER)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        summary.put("deposits", deposits);
-        summary.put("withdrawals", withdrawals);
-        summary.put("transfers", transfers);
+        summary.put("deposits", amount(totals, TransactionType.DEPOSIT));
+        summary.put("withdrawals", amount(totals, TransactionType.WITHDRAWAL));
+        summary.put("transfers", amount(totals, TransactionType.TRANSFER_OUT));
         
         return summary;
     }
+
+    public int rebuildTransactionRollups(LocalDate from, LocalDate to) {
+        int days = transactionRollupService.rebuild(from, to);
+        logger.info("Rebuilt transaction rollups for {} days from {} to {}", days, from, to);
+        return days;
+    }
+
+    private Map<TransactionType, TransactionTotalsView> totalsByType(LocalDate from, LocalDate to) {
+        Map<TransactionType, TransactionTotalsView> totals = new EnumMap<>(TransactionType.class);
+        for (TransactionTotalsView view : dailyTxnRollupRepository.findTotalsByTransactionType(from, to)) {
+            totals.put(view.getTransactionType(), view);
+        }
+        return totals;
+    }
+
+    private static BigDecimal amount(Map<TransactionType, TransactionTotalsView> totals, TransactionType type) {
+        TransactionTotalsView view = totals.get(type);
+        return view == null ? BigDecimal.ZERO : view.getTotalAmount();
+    }
+
+    public record AccountTotals(long accounts, BigDecimal balance) {
+
+        AccountTotals plus(AccountTotals other) {
+            return new AccountTotals(accounts + other.accounts, balance.add(other.balance));
+        }
+    }
 }
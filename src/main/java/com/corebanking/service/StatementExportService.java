@@ -0,0 +1,142 @@
+package com.corebanking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+// Statements are written row by row straight from a forward-only result set, so memory use does not
+// depend on the date range. With MySQL, useCursorFetch=true on the JDBC URL makes the fetch size a
+// server-side cursor; without it Connector/J would buffer the whole result on the client. Every MySQL
+// URL shipped with the application sets it; an externally supplied DATABASE_URL has to as well.
+@Service
+public class StatementExportService {
+
+    private static final String SELECT_STATEMENT =
+            "SELECT transaction_id, transaction_date, transaction_type, amount, balance_after, reference_number, " +
+            "description, from_account_number, to_account_number FROM transactions " +
+            "WHERE account_id = ? AND transaction_date >= ? AND transaction_date < ? " +
+            "ORDER BY transaction_date, transaction_id";
+
+    private static final String[] COLUMNS = {"transactionId", "transactionDate", "transactionType", "amount",
+            "balanceAfter", "referenceNumber", "description", "fromAccountNumber", "toAccountNumber"};
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${banking.export.fetch-size:500}")
+    private int fetchSize;
+
+    // Covers [from, to); the caller has already checked account ownership
+    public void export(Long accountId, LocalDateTime from, LocalDateTime to, StatementFormat format, boolean gzip,
+                       OutputStream out) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        RowCallbackHandler rowWriter;
+        JsonGenerator generator = null;
+        if (format == StatementFormat.NDJSON) {
+            generator = objectMapper.getFactory().createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            JsonGenerator json = generator;
+            rowWriter = resultSet -> writeJson(json, resultSet);
+        } else {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+            rowWriter = resultSet -> writeCsv(writer, resultSet);
+        }
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_STATEMENT,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, accountId);
+            statement.setTimestamp(2, Timestamp.valueOf(from));
+            statement.setTimestamp(3, Timestamp.valueOf(to));
+            return statement;
+        }, rowWriter);
+
+        if (generator != null) {
+            generator.flush();
+        }
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+    }
+
+    private void writeCsv(Writer writer, ResultSet resultSet) throws SQLException {
+        try {
+            writer.write(Long.toString(resultSet.getLong(1)));
+            writer.write(',');
+            writer.write(resultSet.getTimestamp(2).toLocalDateTime().toString());
+            writer.write(',');
+            writer.write(resultSet.getString(3));
+            writer.write(',');
+            writer.write(resultSet.getBigDecimal(4).toPlainString());
+            writer.write(',');
+            writer.write(resultSet.getBigDecimal(5).toPlainString());
+            for (int column = 6; column <= 9; column++) {
+                writer.write(',');
+                writer.write(csvText(resultSet.getString(column)));
+            }
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeJson(JsonGenerator json, ResultSet resultSet) throws SQLException {
+        try {
+            json.writeStartObject();
+            json.writeNumberField(COLUMNS[0], resultSet.getLong(1));
+            json.writeStringField(COLUMNS[1], resultSet.getTimestamp(2).toLocalDateTime().toString());
+            json.writeStringField(COLUMNS[2], resultSet.getString(3));
+            json.writeNumberField(COLUMNS[3], resultSet.getBigDecimal(4));
+            json.writeNumberField(COLUMNS[4], resultSet.getBigDecimal(5));
+            for (int column = 6; column <= 9; column++) {
+                json.writeStringField(COLUMNS[column - 1], resultSet.getString(column));
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // RFC 4180 quoting; free text that a spreadsheet would run as a formula is prefixed with a quote
+    static String csvText(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if ("=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,113 @@
+package com.corebanking.service;
+
+import com.corebanking.common.BloomFilter;
+import com.corebanking.entity.RevokedToken;
+import com.corebanking.repository.RevokedTokenRepository;
+import com.corebanking.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revoked token ids live in revoked_tokens until the token would have expired. Every authenticated
+// request asks isRevoked(), which is answered from an in-memory Bloom filter; only a filter hit (a
+// revoked token or the occasional false positive) costs a query. The filter is rebuilt on a timer,
+// which is also how revocations made on other instances reach this one.
+@Service
+public class TokenRevocationService {
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${banking.security.revocation.expected-tokens:100000}")
+    private long expectedTokens;
+
+    @Value("${banking.security.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    // Ids revoked here, with the time they were added, until a rebuild has certainly read them back
+    private final Map<String, Long> localRevocations = new ConcurrentHashMap<>();
+
+    private Counter revokedHits;
+
+    private Counter falsePositives;
+
+    @PostConstruct
+    public void init() {
+        revokedHits = Counter.builder("banking.auth.revocation.lookups").tag("result", "revoked").register(meterRegistry);
+        falsePositives = Counter.builder("banking.auth.revocation.lookups").tag("result", "false_positive").register(meterRegistry);
+        rebuild();
+    }
+
+    // Tokens issued before ids were added carry no jti and cannot be revoked; they expire as before
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        boolean revoked = revokedTokenRepository.existsByTokenId(tokenId);
+        (revoked ? revokedHits : falsePositives).increment();
+        return revoked;
+    }
+
+    // Invalid or already expired tokens need no revocation, so they are ignored. Not transactional:
+    // the row must be committed before the id is registered locally (see rebuild).
+    public void revoke(String token) {
+        Optional<Claims> claims = tokenProvider.parseVerified(token);
+        if (claims.isEmpty() || claims.get().getId() == null) {
+            return;
+        }
+        String tokenId = claims.get().getId();
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(claims.get().getExpiration().toInstant(), ZoneId.systemDefault());
+        try {
+            revokedTokenRepository.save(new RevokedToken(tokenId, claims.get().getSubject(), expiresAt));
+        } catch (DataIntegrityViolationException e) {
+            // Already revoked, e.g. a repeated logout
+        }
+        localRevocations.put(tokenId, System.currentTimeMillis());
+        filter.put(tokenId);
+    }
+
+    @Scheduled(fixedDelayString = "${banking.security.revocation.refresh-interval-ms:60000}")
+    @Transactional
+    public void refresh() {
+        revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        rebuild();
+    }
+
+    private void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        List<String> tokenIds = revokedTokenRepository.findActiveTokenIds(LocalDateTime.now());
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, tokenIds.size() * 2L), falsePositiveRate);
+        tokenIds.forEach(rebuilt::put);
+        localRevocations.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+
+        // A revoke() that put into the old filter after the pass above registered its id first, so a
+        // second pass after the swap catches it. Ids registered before the query started were
+        // committed before it and came back from the table, so they no longer need to be carried.
+        localRevocations.keySet().forEach(rebuilt::put);
+        localRevocations.values().removeIf(addedAt -> addedAt < startedAt);
+    }
+}
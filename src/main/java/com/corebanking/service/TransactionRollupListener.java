@@ -0,0 +1,26 @@
+package com.corebanking.service;
+
+import com.corebanking.entity.Transaction;
+import jakarta.persistence.PrePersist;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+// Entity listener like RecentTransactionListener, so every posting path feeds the daily rollups. It
+// runs before persist rather than after: inserts with pooled ids are only executed at flush, which for
+// the last ones is during commit, too late to join the commit they belong to. The id is not needed here.
+public class TransactionRollupListener {
+
+    // Lazy: Hibernate creates the listener while the EntityManagerFactory is being built, before the
+    // repositories the service needs exist. Injected eagerly, it would silently be left null.
+    @Lazy
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @PrePersist
+    public void transactionPersisted(Transaction transaction) {
+        if (transactionRollupService == null || transaction.getAccount() == null) {
+            return;
+        }
+        transactionRollupService.record(transaction);
+    }
+}
@@ -0,0 +1,184 @@
+package com.corebanking.service;
+
+import com.corebanking.dto.AccountTypeView;
+import com.corebanking.entity.Account;
+import com.corebanking.entity.AccountType;
+import com.corebanking.entity.DailyTxnRollup;
+import com.corebanking.entity.Transaction;
+import com.corebanking.entity.TransactionType;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.DailyTxnRollupRepository;
+import jakarta.annotation.PostConstruct;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// Keeps daily_txn_rollups current as part of posting. Postings are collected per database transaction
+// and applied just before it commits, coalesced to one update per rollup key, so a batch of thousands
+// of postings costs a handful of row updates. Each transaction writes to one randomly chosen slot and
+// updates its keys in a fixed order; concurrent postings therefore rarely share a row and never deadlock on them.
+@Service
+public class TransactionRollupService {
+
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator.comparing(RollupKey::date)
+            .thenComparing(RollupKey::transactionType)
+            .thenComparing(RollupKey::accountType);
+
+    @Autowired
+    private DailyTxnRollupRepository rollupRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${banking.reports.rollups.slots:16}")
+    private int slots;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    public void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Called for every transaction as it is persisted, from the entity listener
+    public void record(Transaction transaction) {
+        Posting posting = Posting.of(transaction);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            requiresNew.executeWithoutResult(status -> apply(List.of(posting)));
+            return;
+        }
+
+        PendingPostings pending = (PendingPostings) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingPostings();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.postings.add(posting);
+    }
+
+    // Rebuilds whole days from the transactions table. Today is left to the incremental path, whose
+    // updates would race with the delete; returns the number of days rebuilt.
+    public int rebuild(LocalDate from, LocalDate to) {
+        LocalDate last = to.isBefore(LocalDate.now()) ? to : LocalDate.now().minusDays(1);
+        int days = 0;
+        for (LocalDate day = from; !day.isAfter(last); day = day.plusDays(1)) {
+            LocalDate date = day;
+            requiresNew.executeWithoutResult(status -> {
+                rollupRepository.deleteByRollupDate(date);
+                rollupRepository.insertFromTransactions(date, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+            });
+            days++;
+        }
+        return days;
+    }
+
+    // Nightly re-derivation of the day just closed, which also heals any drift
+    @Scheduled(cron = "${banking.reports.rollups.rebuild-cron:0 30 0 * * *}")
+    public void rebuildYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        rebuild(yesterday, yesterday);
+    }
+
+    private void apply(List<Posting> postings) {
+        // Accounts set by reference are not loaded; their types are read together in one query
+        Set<Long> unresolved = postings.stream()
+                .filter(posting -> posting.accountType() == null)
+                .map(Posting::accountId)
+                .collect(Collectors.toCollection(HashSet::new));
+        Map<Long, AccountType> accountTypes = unresolved.isEmpty() ? Map.of() : accountRepository
+                .findAccountTypesByIds(unresolved).stream()
+                .collect(Collectors.toMap(AccountTypeView::getAccountId, AccountTypeView::getAccountType));
+
+        Map<RollupKey, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        for (Posting posting : postings) {
+            AccountType accountType = posting.accountType() != null ? posting.accountType() : accountTypes.get(posting.accountId());
+            deltas.merge(new RollupKey(posting.date(), posting.transactionType(), accountType),
+                    new Delta(1, posting.amount()), Delta::plus);
+        }
+
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+        deltas.forEach((key, delta) -> {
+            if (increment(key, slot, delta) == 0) {
+                createRow(key, slot);
+                increment(key, slot, delta);
+            }
+        });
+    }
+
+    private int increment(RollupKey key, int slot, Delta delta) {
+        return rollupRepository.increment(key.date(), key.transactionType(), key.accountType(), slot,
+                delta.count(), delta.amount());
+    }
+
+    // First posting of the day for this key and slot. Created in its own short transaction so the
+    // posting never holds an insert lock; another node may create it first, which is just as good.
+    private void createRow(RollupKey key, int slot) {
+        try {
+            requiresNew.executeWithoutResult(status -> rollupRepository.saveAndFlush(
+                    new DailyTxnRollup(key.date(), key.transactionType(), key.accountType(), slot)));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently
+        }
+    }
+
+    private class PendingPostings implements TransactionSynchronization {
+
+        private final List<Posting> postings = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            apply(postings);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TransactionRollupService.this);
+        }
+    }
+
+    private record Posting(Long accountId, AccountType accountType, LocalDate date,
+                           TransactionType transactionType, BigDecimal amount) {
+
+        static Posting of(Transaction transaction) {
+            Account account = transaction.getAccount();
+            LocalDateTime date = transaction.getTransactionDate() != null ? transaction.getTransactionDate() : LocalDateTime.now();
+            return new Posting(account.getAccountId(), Hibernate.isInitialized(account) ? account.getAccountType() : null,
+                    date.toLocalDate(), transaction.getTransactionType(), transaction.getAmount());
+        }
+    }
+
+    private record RollupKey(LocalDate date, TransactionType transactionType, AccountType accountType) {}
+
+    private record Delta(long count, BigDecimal amount) {
+
+        Delta plus(Delta other) {
+            return new Delta(count + other.count, amount.add(other.amount));
+        }
+    }
+}
@@ -1,22 +1,44 @@
 
 package com.corebanking.service;
 
+import com.corebanking.common.ReferenceNumberGenerator;
+import com.corebanking.dto.AccountBalanceView;
+import com.corebanking.dto.TransactionHistoryPage;
+import com.corebanking.dto.TransactionSummary;
 import com.corebanking.entity.Account;
 import com.corebanking.entity.AccountStatus;
 import com.corebanking.entity.Transaction;
 import com.corebanking.entity.TransactionType;
 import com.corebanking.repository.AccountRepository;
 import com.corebanking.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -31,9 +53,79 @@ public class TransactionService {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private LockWaitMonitor lockWaitMonitor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PostingSequencer postingSequencer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReferenceNumberGenerator referenceNumberGenerator;
+
+    @Autowired
+    private BalanceStripeService balanceStripeService;
+
+    @Autowired
+    private RecentTransactionCache recentTransactionCache;
+
+    @Value("${banking.posting.mode:PESSIMISTIC}")
+    private PostingMode postingMode;
+
+    // SUPPORTS so that callers waiting on the sequencer do not hold a pooled connection
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Transaction deposit(String accountNumber, BigDecimal amount, String description) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new RuntimeException("Account not found"));
+        if (balanceStripeService.isStriped(accountNumber)) {
+            return transactionTemplate.execute(status -> stripedDeposit(accountNumber, amount, description));
+        }
+        if (useSequencer()) {
+            return postingSequencer.post(PostingCommand.deposit(accountNumber, amount, description,
+                    generateReferenceNumber()));
+        }
+
+        return transactionTemplate.execute(status -> postingMode == PostingMode.CONDITIONAL
+                ? conditionalDeposit(accountNumber, amount, description)
+                : lockingDeposit(accountNumber, amount, description));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Transaction withdraw(String accountNumber, BigDecimal amount, String description) {
+        if (balanceStripeService.isStriped(accountNumber)) {
+            return transactionTemplate.execute(status -> stripedWithdraw(accountNumber, amount, description));
+        }
+        if (useSequencer()) {
+            return postingSequencer.post(PostingCommand.withdrawal(accountNumber, amount, description,
+                    generateReferenceNumber()));
+        }
+
+        return transactionTemplate.execute(status -> postingMode == PostingMode.CONDITIONAL
+                ? conditionalWithdraw(accountNumber, amount, description)
+                : lockingWithdraw(accountNumber, amount, description));
+    }
+
+    // Returns the debit leg; both legs share its reference number
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Transaction transfer(String fromAccountNumber, String toAccountNumber, BigDecimal amount, String description) {
+        if (balanceStripeService.isStriped(fromAccountNumber) || balanceStripeService.isStriped(toAccountNumber)) {
+            return transactionTemplate.execute(status -> stripedTransfer(fromAccountNumber, toAccountNumber, amount, description));
+        }
+        if (useSequencer()) {
+            return postingSequencer.post(PostingCommand.transfer(fromAccountNumber, toAccountNumber, amount, description,
+                    generateReferenceNumber()));
+        }
+
+        return transactionTemplate.execute(status -> postingMode == PostingMode.CONDITIONAL
+                ? conditionalTransfer(fromAccountNumber, toAccountNumber, amount, description)
+                : lockingTransfer(fromAccountNumber, toAccountNumber, amount, description));
+    }
+
+    private Transaction lockingDeposit(String accountNumber, BigDecimal amount, String description) {
+        Account account = lockAccount(accountNumber);
 
         if (account.getStatus() != AccountStatus.ACTIVE) {
             throw new RuntimeException("Account is not active");
@@ -59,9 +151,8 @@ public class TransactionService {
         return transactionRepository.save(transaction);
     }
 
-    public Transaction withdraw(String accountNumber, BigDecimal amount, String description) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new RuntimeException("Account not found"));
+    private Transaction lockingWithdraw(String accountNumber, BigDecimal amount, String description) {
+        Account account = lockAccount(accountNumber);
 
         if (account.getStatus() != AccountStatus.ACTIVE) {
             throw new RuntimeException("Account is not active");
@@ -91,13 +182,24 @@ public class TransactionService {
         return transactionRepository.save(transaction);
     }
 
-    public void transfer(String fromAccountNumber, String toAccountNumber, BigDecimal amount, String description) {
-        Account fromAccount = accountRepository.findByAccountNumber(fromAccountNumber)
+    private Transaction lockingTransfer(String fromAccountNumber, String toAccountNumber, BigDecimal amount, String description) {
+        Long fromAccountId = accountRepository.findAccountIdByAccountNumber(fromAccountNumber)
                 .orElseThrow(() -> new RuntimeException("Source account not found"));
 
-        Account toAccount = accountRepository.findByAccountNumber(toAccountNumber)
+        Long toAccountId = accountRepository.findAccountIdByAccountNumber(toAccountNumber)
                 .orElseThrow(() -> new RuntimeException("Destination account not found"));
 
+        // Always lock the lower account id first so opposing transfers cannot deadlock
+        Account fromAccount;
+        Account toAccount;
+        if (fromAccountId <= toAccountId) {
+            fromAccount = lockAccount(fromAccountId, fromAccountNumber);
+            toAccount = lockAccount(toAccountId, toAccountNumber);
+        } else {
+            toAccount = lockAccount(toAccountId, toAccountNumber);
+            fromAccount = lockAccount(fromAccountId, fromAccountNumber);
+        }
+
         if (fromAccount.getStatus() != AccountStatus.ACTIVE || toAccount.getStatus() != AccountStatus.ACTIVE) {
             throw new RuntimeException("Both accounts must be active");
         }
@@ -143,17 +245,364 @@ public class TransactionService {
         creditTransaction.setReferenceNumber(referenceNumber);
         creditTransaction.setFromAccountNumber(fromAccountNumber);
         transactionRepository.save(creditTransaction);
+
+        return debitTransaction;
     }
 
-    public Page<Transaction> getAccountTransactions(Long accountId, Pageable pageable) {
-        return transactionRepository.findByAccount_AccountIdOrderByTransactionDateDesc(accountId, pageable);
+    // SUPPORTS so that a first page served from memory does not borrow a connection
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Page<TransactionSummary> getAccountTransactions(Long accountId, Pageable pageable) {
+        if (!recentTransactionCache.isCacheable(pageable)) {
+            return transactionRepository.findSummariesByAccountId(accountId, pageable);
+        }
+
+        Optional<Page<TransactionSummary>> cached = recentTransactionCache.firstPage(accountId, pageable);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long generation = recentTransactionCache.generation(accountId);
+        Page<TransactionSummary> latest = transactionRepository.findSummariesByAccountId(accountId,
+                recentTransactionCache.fillRequest());
+        recentTransactionCache.fill(accountId, generation, latest);
+        return recentTransactionCache.firstPage(accountId, pageable)
+                .orElseGet(() -> new PageImpl<>(latest.getContent().subList(0, Math.min(pageable.getPageSize(),
+                        latest.getNumberOfElements())), pageable, latest.getTotalElements()));
+    }
+
+    // Newest first; one extra row is read to tell whether an older page exists
+    @Transactional(readOnly = true)
+    public TransactionHistoryPage getAccountHistory(Long accountId, String cursor, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<TransactionSummary> rows;
+        if (cursor == null) {
+            rows = transactionRepository.findLatestByAccountId(accountId, limit);
+        } else {
+            HistoryCursor position = decodeCursor(cursor);
+            rows = transactionRepository.findByAccountIdBefore(accountId, position.transactionDate(),
+                    position.transactionId(), limit);
+        }
+
+        if (rows.size() <= size) {
+            return new TransactionHistoryPage(rows, null);
+        }
+        List<TransactionSummary> page = new ArrayList<>(rows.subList(0, size));
+        return new TransactionHistoryPage(page, encodeCursor(page.get(size - 1)));
     }
 
     public List<Transaction> getTransactionsByDateRange(Long accountId, LocalDateTime startDate, LocalDateTime endDate) {
         return transactionRepository.findTransactionsByAccountAndDateRange(accountId, startDate, endDate);
     }
 
+    // Postings inside a caller's transaction (interest, FD flows) must stay atomic with it, so they
+    // bypass the sequencer; its batches lock the same rows, so both paths can run side by side
+    private boolean useSequencer() {
+        return postingMode == PostingMode.SEQUENCED && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    private Transaction conditionalDeposit(String accountNumber, BigDecimal amount, String description) {
+        validateAmount(amount);
+
+        if (!credit(accountNumber, amount)) {
+            throw new RuntimeException(describeFailure(accountNumber, amount, false));
+        }
+
+        AccountBalanceView balance = readBalances(accountNumber).get(accountNumber);
+        return transactionRepository.save(newTransaction(balance, TransactionType.DEPOSIT, amount, description,
+                generateReferenceNumber()));
+    }
+
+    private Transaction conditionalWithdraw(String accountNumber, BigDecimal amount, String description) {
+        validateAmount(amount);
+
+        if (!debit(accountNumber, amount)) {
+            throw new RuntimeException(describeFailure(accountNumber, amount, true));
+        }
+
+        AccountBalanceView balance = readBalances(accountNumber).get(accountNumber);
+        return transactionRepository.save(newTransaction(balance, TransactionType.WITHDRAWAL, amount, description,
+                generateReferenceNumber()));
+    }
+
+    private Transaction conditionalTransfer(String fromAccountNumber, String toAccountNumber, BigDecimal amount, String description) {
+        validateAmount(amount);
+
+        // Apply both legs in account number order so opposing transfers cannot deadlock;
+        // if the second leg fails the exception rolls back the first
+        if (fromAccountNumber.compareTo(toAccountNumber) <= 0) {
+            applyTransferDebit(fromAccountNumber, toAccountNumber, amount);
+            applyTransferCredit(fromAccountNumber, toAccountNumber, amount);
+        } else {
+            applyTransferCredit(fromAccountNumber, toAccountNumber, amount);
+            applyTransferDebit(fromAccountNumber, toAccountNumber, amount);
+        }
+
+        Map<String, AccountBalanceView> balances = readBalances(fromAccountNumber, toAccountNumber);
+        String referenceNumber = generateReferenceNumber();
+
+        Transaction debitTransaction = newTransaction(balances.get(fromAccountNumber), TransactionType.TRANSFER_OUT,
+                amount, description, referenceNumber);
+        debitTransaction.setToAccountNumber(toAccountNumber);
+        transactionRepository.save(debitTransaction);
+
+        Transaction creditTransaction = newTransaction(balances.get(toAccountNumber), TransactionType.TRANSFER_IN,
+                amount, description, referenceNumber);
+        creditTransaction.setFromAccountNumber(fromAccountNumber);
+        transactionRepository.save(creditTransaction);
+
+        return debitTransaction;
+    }
+
+    private void applyTransferDebit(String fromAccountNumber, String toAccountNumber, BigDecimal amount) {
+        if (!debit(fromAccountNumber, amount)) {
+            throw new RuntimeException(describeTransferFailure(fromAccountNumber, toAccountNumber, amount));
+        }
+    }
+
+    private void applyTransferCredit(String fromAccountNumber, String toAccountNumber, BigDecimal amount) {
+        if (!credit(toAccountNumber, amount)) {
+            throw new RuntimeException(describeTransferFailure(fromAccountNumber, toAccountNumber, amount));
+        }
+    }
+
+    private boolean credit(String accountNumber, BigDecimal amount) {
+        long start = System.nanoTime();
+        int updated = accountRepository.creditIfActive(accountNumber, amount, LocalDateTime.now());
+        lockWaitMonitor.recordConditionalUpdate(System.nanoTime() - start);
+        return updated == 1;
+    }
+
+    private boolean debit(String accountNumber, BigDecimal amount) {
+        long start = System.nanoTime();
+        int updated = accountRepository.debitIfSufficient(accountNumber, amount, LocalDateTime.now());
+        lockWaitMonitor.recordConditionalUpdate(System.nanoTime() - start);
+        return updated == 1;
+    }
+
+    private Map<String, AccountBalanceView> readBalances(String... accountNumbers) {
+        return accountRepository.findBalancesByAccountNumbers(Arrays.stream(accountNumbers).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(AccountBalanceView::getAccountNumber, Function.identity()));
+    }
+
+    // Only runs on the failure path, to turn a zero-row update into the usual error message
+    private String describeFailure(String accountNumber, BigDecimal amount, boolean isDebit) {
+        AccountBalanceView balance = readBalances(accountNumber).get(accountNumber);
+        if (balance == null) {
+            return "Account not found";
+        }
+        if (balance.getStatus() != AccountStatus.ACTIVE) {
+            return "Account is not active";
+        }
+        if (isDebit && balance.getBalance().compareTo(amount) < 0) {
+            return "Insufficient balance";
+        }
+        return "Posting could not be applied";
+    }
+
+    private String describeTransferFailure(String fromAccountNumber, String toAccountNumber, BigDecimal amount) {
+        Map<String, AccountBalanceView> balances = readBalances(fromAccountNumber, toAccountNumber);
+        AccountBalanceView from = balances.get(fromAccountNumber);
+        AccountBalanceView to = balances.get(toAccountNumber);
+        if (from == null) {
+            return "Source account not found";
+        }
+        if (to == null) {
+            return "Destination account not found";
+        }
+        if (from.getStatus() != AccountStatus.ACTIVE || to.getStatus() != AccountStatus.ACTIVE) {
+            return "Both accounts must be active";
+        }
+        if (from.getBalance().compareTo(amount) < 0) {
+            return "Insufficient balance";
+        }
+        return "Transfer could not be applied";
+    }
+
+    private Transaction newTransaction(AccountBalanceView balance, TransactionType type, BigDecimal amount,
+                                       String description, String referenceNumber) {
+        Account account = entityManager.getReference(Account.class, balance.getAccountId());
+        if (Hibernate.isInitialized(account)) {
+            // Loaded earlier in the caller's transaction (interest, FD flows). The bulk update bypassed
+            // it, and its stale balance would otherwise be read, or flushed back over the update.
+            entityManager.refresh(account);
+        }
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setTransactionType(type);
+        transaction.setAmount(amount);
+        transaction.setDescription(description);
+        transaction.setTransactionDate(LocalDateTime.now());
+        transaction.setBalanceAfter(balance.getBalance());
+        transaction.setReferenceNumber(referenceNumber);
+        return transaction;
+    }
+
+    // Striped accounts: credits share the account row lock and land on a random stripe, debits lock
+    // the row exclusively and draw across stripes (see BalanceStripeService for the lock order)
+    private Transaction stripedDeposit(String accountNumber, BigDecimal amount, String description) {
+        validateAmount(amount);
+        Long accountId = resolveAccountId(accountNumber);
+        Account account = lockForCredit(accountId, accountNumber, true);
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new RuntimeException("Account is not active");
+        }
+
+        BigDecimal balanceAfter = applyCredit(account, amount);
+        return transactionRepository.save(postedTransaction(account, TransactionType.DEPOSIT, amount, description,
+                balanceAfter, generateReferenceNumber()));
+    }
+
+    private Transaction stripedWithdraw(String accountNumber, BigDecimal amount, String description) {
+        validateAmount(amount);
+        Account account = lockAccount(accountNumber);
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new RuntimeException("Account is not active");
+        }
+
+        BigDecimal balanceAfter = applyDebit(account, amount);
+        return transactionRepository.save(postedTransaction(account, TransactionType.WITHDRAWAL, amount, description,
+                balanceAfter, generateReferenceNumber()));
+    }
+
+    private Transaction stripedTransfer(String fromAccountNumber, String toAccountNumber, BigDecimal amount, String description) {
+        validateAmount(amount);
+        Long fromAccountId = resolveAccountId(fromAccountNumber);
+        Long toAccountId = resolveAccountId(toAccountNumber);
+        boolean shareTarget = balanceStripeService.isStriped(toAccountNumber);
+
+        Account fromAccount;
+        Account toAccount;
+        if (fromAccountId < toAccountId) {
+            fromAccount = lockAccount(fromAccountId, fromAccountNumber);
+            toAccount = lockForCredit(toAccountId, toAccountNumber, shareTarget);
+        } else {
+            toAccount = lockForCredit(toAccountId, toAccountNumber, shareTarget);
+            fromAccount = lockAccount(fromAccountId, fromAccountNumber);
+        }
+
+        if (fromAccount.getStatus() != AccountStatus.ACTIVE || toAccount.getStatus() != AccountStatus.ACTIVE) {
+            throw new RuntimeException("Both accounts must be active");
+        }
+
+        String referenceNumber = generateReferenceNumber();
+        BigDecimal fromBalance = applyDebit(fromAccount, amount);
+        BigDecimal toBalance = applyCredit(toAccount, amount);
+
+        Transaction debitTransaction = postedTransaction(fromAccount, TransactionType.TRANSFER_OUT, amount, description,
+                fromBalance, referenceNumber);
+        debitTransaction.setToAccountNumber(toAccountNumber);
+        transactionRepository.save(debitTransaction);
+
+        Transaction creditTransaction = postedTransaction(toAccount, TransactionType.TRANSFER_IN, amount, description,
+                toBalance, referenceNumber);
+        creditTransaction.setFromAccountNumber(fromAccountNumber);
+        transactionRepository.save(creditTransaction);
+
+        return debitTransaction;
+    }
+
+    // A shared lock is enough to credit a striped account; anything else needs the row exclusively
+    private Account lockForCredit(Long accountId, String accountNumber, boolean striped) {
+        if (!striped) {
+            return lockAccount(accountId, accountNumber);
+        }
+        Account account = lockAccount(accountId, accountNumber, LockModeType.PESSIMISTIC_READ);
+        if (!account.isStriped()) {
+            // Striping was switched off since the routing hint was refreshed
+            account = lockAccount(accountId, accountNumber);
+        }
+        return account;
+    }
+
+    private BigDecimal applyCredit(Account account, BigDecimal amount) {
+        if (account.isStriped()) {
+            return balanceStripeService.credit(account, amount);
+        }
+        account.setBalance(account.getBalance().add(amount));
+        return account.getBalance();
+    }
+
+    private BigDecimal applyDebit(Account account, BigDecimal amount) {
+        if (account.isStriped()) {
+            return balanceStripeService.debit(account, amount);
+        }
+        if (account.getBalance().compareTo(amount) < 0) {
+            throw new RuntimeException("Insufficient balance");
+        }
+        account.setBalance(account.getBalance().subtract(amount));
+        return account.getBalance();
+    }
+
+    private Transaction postedTransaction(Account account, TransactionType type, BigDecimal amount, String description,
+                                          BigDecimal balanceAfter, String referenceNumber) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setTransactionType(type);
+        transaction.setAmount(amount);
+        transaction.setDescription(description);
+        transaction.setTransactionDate(LocalDateTime.now());
+        transaction.setBalanceAfter(balanceAfter);
+        transaction.setReferenceNumber(referenceNumber);
+        return transaction;
+    }
+
+    private Long resolveAccountId(String accountNumber) {
+        return accountRepository.findAccountIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+    }
+
+    private void validateAmount(BigDecimal amount) {
+        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new RuntimeException("Amount must be positive");
+        }
+    }
+
+    private Account lockAccount(String accountNumber) {
+        Long accountId = accountRepository.findAccountIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        return lockAccount(accountId, accountNumber);
+    }
+
+    private Account lockAccount(Long accountId, String accountNumber) {
+        return lockAccount(accountId, accountNumber, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    private Account lockAccount(Long accountId, String accountNumber, LockModeType lockMode) {
+        long start = System.nanoTime();
+        Account account = entityManager.getReference(Account.class, accountId);
+        if (Hibernate.isInitialized(account)) {
+            // Loaded earlier in this transaction, so re-read its state under the row lock
+            entityManager.refresh(account, lockMode);
+        } else {
+            account = entityManager.find(Account.class, accountId, lockMode);
+        }
+        lockWaitMonitor.record(accountNumber, System.nanoTime() - start);
+        if (lockMode == LockModeType.PESSIMISTIC_WRITE) {
+            // Also reached for striped accounts by nodes whose routing set is out of date
+            balanceStripeService.lockStripes(List.of(account));
+        }
+        return account;
+    }
+
     private String generateReferenceNumber() {
-        return "TXN" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return referenceNumberGenerator.next();
+    }
+
+    static String encodeCursor(TransactionSummary last) {
+        String position = last.getTransactionDate() + "|" + last.getTransactionId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
     }
+
+    static HistoryCursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            return new HistoryCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    record HistoryCursor(LocalDateTime transactionDate, Long transactionId) {}
 }
@@ -6,11 +6,9 @@ import com.corebanking.entity.User;
 import com.corebanking.entity.UserRole;
 import com.corebanking.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Service
@@ -21,7 +19,10 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
 
     public User createCustomerUser(UserRegistrationRequest request) {
         // Check if username or email already exists
@@ -37,7 +38,7 @@ public class UserService {
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHashingService.encode(request.getPassword()));
         user.setRole(UserRole.CUSTOMER);
         user.setIsActive(true);
         user.setFailedLoginAttempts(0);
@@ -50,39 +51,27 @@ public class UserService {
     }
 
     public boolean validatePassword(User user, String password) {
-        return passwordEncoder.matches(password, user.getPasswordHash());
+        return passwordHashingService.matches(password, user.getPasswordHash());
+    }
+
+    // Called after a successful login, while the plain password is at hand. Rare, so written directly.
+    public void upgradePasswordHash(User user, String password) {
+        if (passwordHashingService.needsRehash(user.getPasswordHash())) {
+            user.setPasswordHash(passwordHashingService.encode(password));
+            userRepository.save(user);
+        }
     }
 
+    // Login bookkeeping is held in memory and written behind by LoginAttemptTracker
     public void updateLastLogin(User user) {
-        user.setLastLogin(LocalDateTime.now());
-        user.setFailedLoginAttempts(0);
-        userRepository.save(user);
+        loginAttemptTracker.recordSuccess(user);
     }
 
     public void incrementFailedLoginAttempts(User user) {
-        user.setFailedLoginAttempts(user.getFailedLoginAttempts() + 1);
-        
-        // Lock account after 5 failed attempts for 30 minutes
-        if (user.getFailedLoginAttempts() >= 5) {
-            user.setAccountLockedUntil(LocalDateTime.now().plusMinutes(30));
-        }
-        
-        userRepository.save(user);
+        loginAttemptTracker.recordFailure(user);
     }
 
     public boolean isAccountLocked(User user) {
-        if (user.getAccountLockedUntil() == null) {
-            return false;
-        }
-        
-        if (LocalDateTime.now().isAfter(user.getAccountLockedUntil())) {
-            // Unlock account
-            user.setAccountLockedUntil(null);
-            user.setFailedLoginAttempts(0);
-            userRepository.save(user);
-            return false;
-        }
-        
-        return true;
+        return loginAttemptTracker.isLocked(user);
     }
 }
@@ -0,0 +1,15 @@
+-- Opt-in sub-balance striping for hot accounts; balance = accounts.balance + SUM(stripes)
+ALTER TABLE accounts ADD COLUMN stripe_count INT NOT NULL DEFAULT 0;
+
+CREATE TABLE account_balance_stripes (
+    stripe_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    stripe_no INT NOT NULL,
+    balance DECIMAL(15,2) NOT NULL DEFAULT 0.00,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    FOREIGN KEY (account_id) REFERENCES accounts(account_id),
+    UNIQUE KEY uk_stripe_account_no (account_id, stripe_no)
+);
@@ -0,0 +1,23 @@
+-- Create posting_requests table for postings accepted now and executed by background workers
+CREATE TABLE posting_requests (
+    request_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    idempotency_key VARCHAR(100),
+    request_hash CHAR(64) NOT NULL,
+    transaction_type ENUM('DEPOSIT', 'WITHDRAWAL', 'TRANSFER_OUT') NOT NULL,
+    account_number VARCHAR(20) NOT NULL,
+    to_account_number VARCHAR(20),
+    amount DECIMAL(15,2) NOT NULL,
+    description VARCHAR(255),
+    status ENUM('PENDING', 'POSTED', 'REJECTED') NOT NULL DEFAULT 'PENDING',
+    transaction_id BIGINT,
+    reference_number VARCHAR(50),
+    failure_reason VARCHAR(255),
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    FOREIGN KEY (transaction_id) REFERENCES transactions(transaction_id),
+    UNIQUE KEY uk_posting_request_user_key (username, idempotency_key),
+    INDEX idx_posting_request_status (status, created_at)
+);
@@ -0,0 +1,13 @@
+-- Create revoked_tokens table; rows are only needed until the token would have expired anyway
+CREATE TABLE revoked_tokens (
+    revoked_token_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_id VARCHAR(64) NOT NULL,
+    username VARCHAR(50) NOT NULL,
+    expires_at DATETIME NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    UNIQUE KEY uk_revoked_token_id (token_id),
+    INDEX idx_revoked_token_expires (expires_at)
+);
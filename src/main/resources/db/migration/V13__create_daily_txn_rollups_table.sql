@@ -0,0 +1,15 @@
+-- Create daily_txn_rollups table: per-day posting counts and amounts, maintained as part of posting.
+-- Each key is spread over a few slots so that concurrent postings do not queue on a single row.
+CREATE TABLE daily_txn_rollups (
+    rollup_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    rollup_date DATE NOT NULL,
+    transaction_type ENUM('DEPOSIT', 'WITHDRAWAL', 'TRANSFER_IN', 'TRANSFER_OUT', 'INTEREST_CREDIT', 'FEE_DEBIT') NOT NULL,
+    account_type ENUM('SAVINGS', 'CHECKING', 'BUSINESS', 'FIXED_DEPOSIT') NOT NULL,
+    slot INT NOT NULL,
+    txn_count BIGINT NOT NULL DEFAULT 0,
+    total_amount DECIMAL(19,2) NOT NULL DEFAULT 0.00,
+    UNIQUE KEY uk_rollup_key (rollup_date, transaction_type, account_type, slot)
+);
+
+-- Supports the rollup backfill, which reads one day of transactions at a time
+CREATE INDEX idx_transactions_date ON transactions(transaction_date);
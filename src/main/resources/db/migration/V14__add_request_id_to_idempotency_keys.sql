@@ -0,0 +1,6 @@
+-- Asynchronous posting requests claim their Idempotency-Key in idempotency_keys too, so that one key
+-- posts at most once whether it is sent synchronously or asynchronously
+ALTER TABLE idempotency_keys
+    ADD COLUMN request_id BIGINT,
+    ADD CONSTRAINT fk_idempotency_request FOREIGN KEY (request_id) REFERENCES posting_requests(request_id),
+    ADD INDEX idx_idempotency_request (request_id);
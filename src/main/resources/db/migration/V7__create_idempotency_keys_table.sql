@@ -0,0 +1,17 @@
+-- Create idempotency_keys table
+CREATE TABLE idempotency_keys (
+    idempotency_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    status ENUM('PENDING', 'COMPLETED') NOT NULL DEFAULT 'PENDING',
+    transaction_id BIGINT,
+    expires_at DATETIME NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    FOREIGN KEY (transaction_id) REFERENCES transactions(transaction_id),
+    UNIQUE KEY uk_idempotency_user_key (username, idempotency_key),
+    INDEX idx_idempotency_expires (expires_at)
+);
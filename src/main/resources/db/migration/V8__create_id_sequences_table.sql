@@ -0,0 +1,16 @@
+-- Sequence emulation table for pooled id generation (works on MySQL and H2)
+CREATE TABLE id_sequences (
+    sequence_name VARCHAR(50) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+-- Seed past the current maximum plus one allocation block, so the first
+-- pooled block never overlaps ids already issued by AUTO_INCREMENT
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'transactions', COALESCE(MAX(transaction_id), 0) + 51 FROM transactions;
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'audit_logs', COALESCE(MAX(audit_id), 0) + 51 FROM audit_logs;
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'interest_postings', COALESCE(MAX(posting_id), 0) + 51 FROM interest_postings;
@@ -0,0 +1,16 @@
+-- Create number_ranges table; nodes lease contiguous blocks and issue numbers from memory
+CREATE TABLE number_ranges (
+    range_name VARCHAR(50) NOT NULL PRIMARY KEY,
+    next_value BIGINT NOT NULL,
+    max_value BIGINT NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50)
+);
+
+-- Issued numbers are the 10 digit value plus a Luhn check digit, one digit longer than
+-- the legacy random numbers, so the two schemes can never collide
+INSERT INTO number_ranges (range_name, next_value, max_value) VALUES
+('ACCOUNT', 1000000000, 9999999999),
+('FIXED_DEPOSIT', 1000000000, 9999999999);
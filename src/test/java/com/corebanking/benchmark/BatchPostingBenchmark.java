@@ -0,0 +1,92 @@
+package com.corebanking.benchmark;
+
+import com.corebanking.dto.BatchOperation;
+import com.corebanking.dto.BatchTransactionItem;
+import com.corebanking.dto.BatchTransactionResponse;
+import com.corebanking.entity.Customer;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.UserRepository;
+import com.corebanking.service.BatchPostingService;
+import com.corebanking.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Dtest=BatchPostingBenchmark -Dbenchmark=true
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:batchposting;LOCK_TIMEOUT=30000",
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BatchPostingBenchmark {
+
+    private static final int PAYROLL_LINES = 5_000;
+    private static final int EMPLOYEE_ACCOUNTS = 1_000;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BatchPostingService batchPostingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void payrollRunBatchedAgainstPerItem() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(userRepository, customerRepository, accountRepository);
+        Customer employer = fixtures.createCustomer("payroll");
+        Customer staff = fixtures.createCustomer("staff");
+        BigDecimal funding = BigDecimal.valueOf(100_000_000);
+        List<String> employees = fixtures.createAccounts(staff, "EMP-", EMPLOYEE_ACCOUNTS, BigDecimal.ZERO);
+        BigDecimal salary = new BigDecimal("1250.00");
+
+        String perItemAccount = fixtures.createAccounts(employer, "PAY-A-", 1, funding).get(0);
+        long start = System.nanoTime();
+        for (int i = 0; i < PAYROLL_LINES; i++) {
+            transactionService.transfer(perItemAccount, employees.get(i % EMPLOYEE_ACCOUNTS), salary, "salary");
+        }
+        report("per-item", System.nanoTime() - start);
+
+        String batchAccount = fixtures.createAccounts(employer, "PAY-B-", 1, funding).get(0);
+        List<BatchTransactionItem> items = new ArrayList<>(PAYROLL_LINES);
+        for (int i = 0; i < PAYROLL_LINES; i++) {
+            BatchTransactionItem item = new BatchTransactionItem();
+            item.setOperation(BatchOperation.TRANSFER);
+            item.setAccountNumber(batchAccount);
+            item.setToAccountNumber(employees.get(i % EMPLOYEE_ACCOUNTS));
+            item.setAmount(salary);
+            item.setDescription("salary");
+            items.add(item);
+        }
+        start = System.nanoTime();
+        BatchTransactionResponse response = batchPostingService.post(items, employer.getCustomerId(), "bench");
+        report("batch", System.nanoTime() - start);
+
+        assertEquals(PAYROLL_LINES, response.getPosted());
+        assertEquals(0, response.getRejected());
+    }
+
+    private void report(String label, long nanos) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%-10s %,d lines in %.2fs (%,.0f lines/s)%n", label, PAYROLL_LINES, seconds, PAYROLL_LINES / seconds);
+    }
+}
@@ -0,0 +1,58 @@
+package com.corebanking.benchmark;
+
+import com.corebanking.entity.*;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.UserRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class BenchmarkFixtures {
+
+    private final UserRepository userRepository;
+    private final CustomerRepository customerRepository;
+    private final AccountRepository accountRepository;
+
+    BenchmarkFixtures(UserRepository userRepository, CustomerRepository customerRepository,
+                      AccountRepository accountRepository) {
+        this.userRepository = userRepository;
+        this.customerRepository = customerRepository;
+        this.accountRepository = accountRepository;
+    }
+
+    Customer createCustomer(String name) {
+        User user = userRepository.save(new User(name, name + "@bench.local", "n/a", UserRole.CUSTOMER));
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer.setFirstName("Bench");
+        customer.setLastName(name);
+        customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setGender(Gender.OTHER);
+        customer.setPhoneNumber(String.valueOf(Math.abs(name.hashCode())));
+        customer.setAddressLine1("1 Benchmark Street");
+        customer.setCity("Pune");
+        customer.setState("MH");
+        customer.setPostalCode("411001");
+        customer.setKycStatus(KycStatus.APPROVED);
+        return customerRepository.save(customer);
+    }
+
+    List<String> createAccounts(Customer customer, String prefix, int count, BigDecimal openingBalance) {
+        List<Account> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Account account = new Account(customer, prefix + i, AccountType.SAVINGS);
+            account.setBalance(openingBalance);
+            accounts.add(account);
+        }
+
+        List<String> accountNumbers = new ArrayList<>(count);
+        for (Account account : accountRepository.saveAll(accounts)) {
+            accountNumbers.add(account.getAccountNumber());
+        }
+        return accountNumbers;
+    }
+}
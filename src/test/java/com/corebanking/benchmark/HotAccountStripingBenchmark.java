@@ -0,0 +1,75 @@
+package com.corebanking.benchmark;
+
+import com.corebanking.entity.Account;
+import com.corebanking.entity.Customer;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.UserRepository;
+import com.corebanking.service.BalanceStripeService;
+import com.corebanking.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Dtest=HotAccountStripingBenchmark -Dbenchmark=true
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:hotaccount;LOCK_TIMEOUT=30000",
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class HotAccountStripingBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int OPERATIONS_PER_THREAD = 500;
+    private static final int STRIPES = 16;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceStripeService balanceStripeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void settlementFanIn() throws Exception {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(userRepository, customerRepository, accountRepository);
+        Customer customer = fixtures.createCustomer("hotaccount");
+        List<String> payers = fixtures.createAccounts(customer, "PAYER-", 1_000, BigDecimal.valueOf(1_000_000));
+        BigDecimal amount = BigDecimal.ONE;
+
+        System.out.println("Transfers into one settlement account, " + THREADS + " threads");
+        for (boolean striped : new boolean[] {false, true}) {
+            String settlement = fixtures.createAccounts(customer, striped ? "HOT-S-" : "HOT-U-", 1, BigDecimal.ZERO).get(0);
+            if (striped) {
+                balanceStripeService.enableStriping(settlement, STRIPES);
+            }
+
+            LoadRunner.Result result = LoadRunner.run(THREADS, OPERATIONS_PER_THREAD, random ->
+                    transactionService.transfer(payers.get(random.nextInt(payers.size())), settlement, amount, "settlement"));
+
+            System.out.println(result.format(striped ? STRIPES + " stripes" : "single row"));
+            assertEquals(0, result.failures);
+
+            Account account = accountRepository.findByAccountNumber(settlement).orElseThrow();
+            assertEquals(0, BigDecimal.valueOf((long) THREADS * OPERATIONS_PER_THREAD).compareTo(account.getBalance()));
+        }
+    }
+}
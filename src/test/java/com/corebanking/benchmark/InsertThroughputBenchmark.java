@@ -0,0 +1,115 @@
+package com.corebanking.benchmark;
+
+import com.corebanking.entity.Account;
+import com.corebanking.entity.AuditLog;
+import com.corebanking.entity.Customer;
+import com.corebanking.entity.InterestPosting;
+import com.corebanking.entity.Transaction;
+import com.corebanking.entity.TransactionType;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.AuditLogRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.InterestPostingRepository;
+import com.corebanking.repository.TransactionRepository;
+import com.corebanking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Dtest=InsertThroughputBenchmark -Dbenchmark=true
+// For "before" numbers, run the same benchmark on a revision where these entities use IDENTITY ids
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:insertthroughput;LOCK_TIMEOUT=30000",
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InsertThroughputBenchmark {
+
+    private static final int ROWS = 50_000;
+    private static final int ROWS_PER_COMMIT = 1_000;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private InterestPostingRepository interestPostingRepository;
+
+    @Test
+    void bulkInsertThroughput() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(userRepository, customerRepository, accountRepository);
+        Customer customer = fixtures.createCustomer("inserts");
+        String accountNumber = fixtures.createAccounts(customer, "INS-", 1, BigDecimal.ZERO).get(0);
+        Account account = accountRepository.findByAccountNumber(accountNumber).orElseThrow();
+        LocalDateTime now = LocalDateTime.now();
+
+        insert("transactions", i -> {
+            Transaction transaction = new Transaction();
+            transaction.setAccount(account);
+            transaction.setTransactionType(TransactionType.DEPOSIT);
+            transaction.setAmount(BigDecimal.ONE);
+            transaction.setTransactionDate(now);
+            transaction.setBalanceAfter(BigDecimal.valueOf(i));
+            transaction.setReferenceNumber("INS" + i);
+            return transaction;
+        }, transactionRepository::saveAll);
+
+        insert("audit_logs", i -> new AuditLog("bench", "BENCH_INSERT", "row-" + i), auditLogRepository::saveAll);
+
+        insert("interest_postings", i -> {
+            InterestPosting posting = new InterestPosting();
+            posting.setAccount(account);
+            posting.setPostingDate(now);
+            posting.setInterestAmount(BigDecimal.ONE);
+            posting.setCalculationPeriodFrom(now.minusMonths(1));
+            posting.setCalculationPeriodTo(now);
+            posting.setAverageBalance(BigDecimal.TEN);
+            posting.setInterestRate(new BigDecimal("4.00"));
+            return posting;
+        }, interestPostingRepository::saveAll);
+
+        assertEquals(ROWS, transactionRepository.count());
+    }
+
+    private <T> void insert(String label, IntFunction<T> factory, Consumer<List<T>> saveAll) {
+        long start = System.nanoTime();
+        for (int from = 0; from < ROWS; from += ROWS_PER_COMMIT) {
+            List<T> chunk = new ArrayList<>(ROWS_PER_COMMIT);
+            for (int i = from; i < from + ROWS_PER_COMMIT; i++) {
+                chunk.add(factory.apply(i));
+            }
+            transactionTemplate.executeWithoutResult(status -> saveAll.accept(chunk));
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%-18s %,d rows in %.2fs (%,.0f rows/s)%n", label, ROWS, seconds, ROWS / seconds);
+    }
+}
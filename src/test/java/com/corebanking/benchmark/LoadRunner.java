@@ -0,0 +1,83 @@
+package com.corebanking.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LoadRunner {
+
+    interface Operation {
+        void run(ThreadLocalRandom random) throws Exception;
+    }
+
+    static Result run(int threads, int operationsPerThread, Operation operation) throws InterruptedException {
+        long[][] latencies = new long[threads][operationsPerThread];
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            long[] samples = latencies[t];
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        long begin = System.nanoTime();
+                        try {
+                            operation.run(random);
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        samples[i] = System.nanoTime() - begin;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "bench-" + t);
+            worker.start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsedNanos = System.nanoTime() - begin;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, elapsedNanos, failures.get());
+    }
+
+    static class Result {
+        final long operations;
+        final double throughput;
+        final double p50Ms;
+        final double p99Ms;
+        final double maxMs;
+        final int failures;
+
+        Result(long[] sortedLatencies, long elapsedNanos, int failures) {
+            this.operations = sortedLatencies.length;
+            this.throughput = operations / (elapsedNanos / 1_000_000_000.0);
+            this.p50Ms = percentile(sortedLatencies, 0.50);
+            this.p99Ms = percentile(sortedLatencies, 0.99);
+            this.maxMs = sortedLatencies.length == 0 ? 0 : sortedLatencies[sortedLatencies.length - 1] / 1_000_000.0;
+            this.failures = failures;
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+
+        String format(String label) {
+            return String.format("%-24s ops=%-8d throughput=%10.1f ops/s  p50=%8.2f ms  p99=%8.2f ms  max=%8.2f ms  failures=%d",
+                    label, operations, throughput, p50Ms, p99Ms, maxMs, failures);
+        }
+    }
+}
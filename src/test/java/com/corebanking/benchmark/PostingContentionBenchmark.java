@@ -0,0 +1,77 @@
+package com.corebanking.benchmark;
+
+import com.corebanking.entity.Customer;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.UserRepository;
+import com.corebanking.service.LockWaitMonitor;
+import com.corebanking.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Dtest=PostingContentionBenchmark -Dbenchmark=true
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:contention;LOCK_TIMEOUT=30000",
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PostingContentionBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int OPERATIONS_PER_THREAD = 500;
+    private static final int[] ACCOUNT_COUNTS = {1, 10, 100, 1_000, 10_000};
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private LockWaitMonitor lockWaitMonitor;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void throughputAndLatencyAsContentionFalls() throws Exception {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(userRepository, customerRepository, accountRepository);
+        Customer customer = fixtures.createCustomer("contention");
+        BigDecimal amount = BigDecimal.ONE;
+
+        System.out.println("Pessimistic posting, " + THREADS + " threads, 50% deposits / 50% transfers");
+        for (int accountCount : ACCOUNT_COUNTS) {
+            List<String> accounts = fixtures.createAccounts(customer, "C" + accountCount + "-", accountCount,
+                    BigDecimal.valueOf(1_000_000));
+            lockWaitMonitor.reset();
+
+            LoadRunner.Result result = LoadRunner.run(THREADS, OPERATIONS_PER_THREAD, random -> {
+                String from = accounts.get(random.nextInt(accounts.size()));
+                if (accounts.size() == 1 || random.nextBoolean()) {
+                    transactionService.deposit(from, amount, "bench deposit");
+                } else {
+                    String to = accounts.get(random.nextInt(accounts.size()));
+                    transactionService.transfer(from, to, amount, "bench transfer");
+                }
+            });
+
+            System.out.println(result.format(accountCount + " account(s)"));
+            System.out.println("  hottest lock waits: " + lockWaitMonitor.getTopAccounts(3));
+            assertEquals(0, result.failures, "postings failed under contention");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.corebanking.benchmark;
+
+import com.corebanking.entity.Customer;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.UserRepository;
+import com.corebanking.service.PostingMode;
+import com.corebanking.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Dtest=PostingPathBenchmark -Dbenchmark=true
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:postingpath;LOCK_TIMEOUT=30000",
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PostingPathBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 1_000;
+    private static final int[] ACCOUNT_COUNTS = {1, 100, 10_000};
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void conditionalUpdateAgainstEntityPath() throws Exception {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(userRepository, customerRepository, accountRepository);
+        Customer customer = fixtures.createCustomer("postingpath");
+        BigDecimal amount = BigDecimal.ONE;
+
+        System.out.println("Deposit/withdraw mix, " + THREADS + " threads");
+        for (int accountCount : ACCOUNT_COUNTS) {
+            // SEQUENCED needs the sequencer, which only starts in a context configured for it
+            for (PostingMode mode : new PostingMode[] {PostingMode.PESSIMISTIC, PostingMode.CONDITIONAL}) {
+                List<String> accounts = fixtures.createAccounts(customer, "P" + mode.ordinal() + "-" + accountCount + "-",
+                        accountCount, BigDecimal.valueOf(1_000_000));
+                setPostingMode(mode);
+
+                LoadRunner.Result result = LoadRunner.run(THREADS, OPERATIONS_PER_THREAD, random -> {
+                    String accountNumber = accounts.get(random.nextInt(accounts.size()));
+                    if (random.nextBoolean()) {
+                        transactionService.deposit(accountNumber, amount, "bench deposit");
+                    } else {
+                        transactionService.withdraw(accountNumber, amount, "bench withdraw");
+                    }
+                });
+
+                System.out.println(result.format(mode + " / " + accountCount));
+                assertEquals(0, result.failures, mode + " postings failed");
+            }
+        }
+        setPostingMode(PostingMode.PESSIMISTIC);
+    }
+
+    private void setPostingMode(PostingMode mode) {
+        // Typed as Object so that the instance overload of setField is chosen, not the Class one
+        Object target = AopTestUtils.getTargetObject(transactionService);
+        ReflectionTestUtils.setField(target, "postingMode", mode);
+    }
+}
@@ -0,0 +1,145 @@
+package com.corebanking.benchmark;
+
+import com.corebanking.CoreBankingApplication;
+import com.corebanking.entity.Customer;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.UserRepository;
+import com.corebanking.security.JwtTokenProvider;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Dtest=RequestThreadingBenchmark -Dbenchmark=true
+// Starts the application once on Tomcat's platform-thread pool and once on virtual threads, and drives
+// the same request mix through HTTP at rising concurrency. Pinned virtual threads are reported from JFR.
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RequestThreadingBenchmark {
+
+    private static final int[] CONCURRENCY = {50, 200, 800};
+    private static final int REQUESTS_PER_CLIENT = 40;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                run(context, virtual);
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtual) {
+        String name = virtual ? "virtual" : "platform";
+        return new SpringApplicationBuilder(CoreBankingApplication.class)
+                .profiles("test")
+                // Passed as arguments: builder properties are only defaults, which application.yml overrides
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.datasource.url=jdbc:h2:mem:threading-" + name + ";LOCK_TIMEOUT=30000",
+                        "--logging.level.com.corebanking=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        // Every simulated client shares one user, which the per-user rate limit would throttle
+                        "--banking.rate-limit.enabled=false");
+    }
+
+    private void run(ConfigurableApplicationContext context, boolean virtual) throws Exception {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(context.getBean(UserRepository.class),
+                context.getBean(CustomerRepository.class), context.getBean(AccountRepository.class));
+        String username = "threading" + (virtual ? "v" : "p");
+        Customer customer = fixtures.createCustomer(username);
+        List<String> accounts = fixtures.createAccounts(customer, virtual ? "THR-V-" : "THR-P-", 200, BigDecimal.valueOf(1_000_000));
+        String token = "Bearer " + context.getBean(JwtTokenProvider.class).generateToken(username);
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        Map<String, LongAdder> pinnedFrames = new ConcurrentHashMap<>();
+        try (RecordingStream pins = new RecordingStream()) {
+            pins.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ofMillis(1));
+            pins.onEvent("jdk.VirtualThreadPinned", event -> {
+                if (event.getStackTrace() == null) {
+                    return;
+                }
+                // Attribute the pin to the first frame outside the JDK, i.e. the code holding the monitor
+                event.getStackTrace().getFrames().stream()
+                        .map(RecordedFrame::getMethod)
+                        .filter(method -> !method.getType().getName().startsWith("java.")
+                                && !method.getType().getName().startsWith("jdk."))
+                        .findFirst()
+                        .ifPresent(method -> pinnedFrames.computeIfAbsent(method.getType().getName() + "." + method.getName(),
+                                frame -> new LongAdder()).increment());
+            });
+            pins.startAsync();
+
+            System.out.println((virtual ? "Virtual threads" : "Platform thread pool") + ", " + REQUESTS_PER_CLIENT + " requests per client");
+            for (int clients : CONCURRENCY) {
+                LoadRunner.Result reads = LoadRunner.run(clients, REQUESTS_PER_CLIENT, random ->
+                        send(client, get(baseUrl + "/account/my-accounts", token)));
+                System.out.println(reads.format("my-accounts x" + clients));
+
+                LoadRunner.Result postings = LoadRunner.run(clients, REQUESTS_PER_CLIENT, random -> {
+                    String accountNumber = accounts.get(random.nextInt(accounts.size()));
+                    if (random.nextBoolean()) {
+                        send(client, post(baseUrl + "/transaction/deposit", token,
+                                "{\"accountNumber\":\"" + accountNumber + "\",\"amount\":1,\"description\":\"bench\"}"));
+                    } else {
+                        send(client, get(baseUrl + "/transaction/account/" + accountNumber + "?size=20", token));
+                    }
+                });
+                System.out.println(postings.format("transaction x" + clients));
+
+                assertEquals(0, reads.failures);
+                assertEquals(0, postings.failures);
+            }
+            pins.stop();
+        }
+
+        if (virtual) {
+            System.out.println(pinnedFrames.isEmpty() ? "No pinned virtual threads over 1 ms" : "Pinned virtual threads by frame:");
+            pinnedFrames.forEach((frame, count) -> System.out.printf("  %-80s %d%n", frame, count.sum()));
+        }
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", token).GET().build();
+    }
+
+    private static HttpRequest post(String url, String token, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode());
+        }
+    }
+}
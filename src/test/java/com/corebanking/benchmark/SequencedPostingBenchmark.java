@@ -0,0 +1,82 @@
+package com.corebanking.benchmark;
+
+import com.corebanking.entity.Customer;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.UserRepository;
+import com.corebanking.service.TransactionService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Dtest=SequencedPostingBenchmark -Dbenchmark=true
+// Same deposit/withdraw mix as PostingPathBenchmark, so the figures compare directly
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:sequenced;LOCK_TIMEOUT=30000",
+        "banking.posting.mode=SEQUENCED",
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SequencedPostingBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 1_000;
+    private static final int[] ACCOUNT_COUNTS = {1, 100, 10_000};
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void groupCommitThroughShards() throws Exception {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(userRepository, customerRepository, accountRepository);
+        Customer customer = fixtures.createCustomer("sequenced");
+        BigDecimal amount = BigDecimal.ONE;
+        DistributionSummary batchSizes = meterRegistry.get("banking.posting.sequencer.batch.size").summary();
+
+        System.out.println("Deposit/withdraw mix, " + THREADS + " threads");
+        for (int accountCount : ACCOUNT_COUNTS) {
+            List<String> accounts = fixtures.createAccounts(customer, "SEQ-" + accountCount + "-",
+                    accountCount, BigDecimal.valueOf(1_000_000));
+            long batchesBefore = batchSizes.count();
+            double postingsBefore = batchSizes.totalAmount();
+
+            LoadRunner.Result result = LoadRunner.run(THREADS, OPERATIONS_PER_THREAD, random -> {
+                String accountNumber = accounts.get(random.nextInt(accounts.size()));
+                if (random.nextBoolean()) {
+                    transactionService.deposit(accountNumber, amount, "bench deposit");
+                } else {
+                    transactionService.withdraw(accountNumber, amount, "bench withdraw");
+                }
+            });
+
+            long batches = batchSizes.count() - batchesBefore;
+            System.out.printf("%s  batches=%d  mean batch=%.1f%n", result.format("SEQUENCED / " + accountCount),
+                    batches, (batchSizes.totalAmount() - postingsBefore) / Math.max(1, batches));
+            assertEquals(0, result.failures, "SEQUENCED postings failed");
+        }
+    }
+}
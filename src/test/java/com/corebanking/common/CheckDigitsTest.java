@@ -0,0 +1,37 @@
+package com.corebanking.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckDigitsTest {
+
+    @Test
+    void testKnownLuhnNumbers() {
+        assertEquals("79927398713", CheckDigits.withLuhn(7992739871L));
+        assertTrue(CheckDigits.isValidLuhn("4539578763621486"));
+    }
+
+    @Test
+    void testDetectsSingleDigitTypos() {
+        String number = CheckDigits.withLuhn(1000000042L);
+        assertTrue(CheckDigits.isValidLuhn(number));
+
+        for (int i = 0; i < number.length(); i++) {
+            for (char digit = '0'; digit <= '9'; digit++) {
+                if (digit == number.charAt(i)) {
+                    continue;
+                }
+                String typo = number.substring(0, i) + digit + number.substring(i + 1);
+                assertFalse(CheckDigits.isValidLuhn(typo), typo);
+            }
+        }
+    }
+
+    @Test
+    void testRejectsMalformedInput() {
+        assertFalse(CheckDigits.isValidLuhn(null));
+        assertFalse(CheckDigits.isValidLuhn("7"));
+        assertFalse(CheckDigits.isValidLuhn("FD79927398713"));
+    }
+}
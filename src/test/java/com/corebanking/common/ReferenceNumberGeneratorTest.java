@@ -0,0 +1,80 @@
+package com.corebanking.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceNumberGeneratorTest {
+
+    @Test
+    void testFormat() {
+        String reference = new ReferenceNumberGenerator(7).next();
+
+        assertEquals(16, reference.length());
+        assertTrue(reference.matches("TXN[0-9A-HJKMNP-TV-Z]{13}"), reference);
+    }
+
+    @Test
+    void testReferencesSortInIssueOrder() {
+        ReferenceNumberGenerator generator = new ReferenceNumberGenerator(1);
+        String previous = generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            String current = generator.next();
+            assertTrue(current.compareTo(previous) > 0, previous + " then " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    void testNodesNeverCollide() {
+        ReferenceNumberGenerator first = new ReferenceNumberGenerator(1);
+        ReferenceNumberGenerator second = new ReferenceNumberGenerator(2);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertNotEquals(first.nextId(), second.nextId());
+        }
+    }
+
+    @Test
+    void testConcurrentCallersGetUniqueReferences() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        ReferenceNumberGenerator generator = new ReferenceNumberGenerator(3);
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    seen.add(generator.next());
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread, seen.size());
+    }
+
+    @Test
+    void testRejectsOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new ReferenceNumberGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ReferenceNumberGenerator(1024));
+    }
+}
@@ -0,0 +1,50 @@
+package com.corebanking.common;
+
+import com.corebanking.dto.AccountSummary;
+import com.corebanking.entity.AccountStatus;
+import com.corebanking.entity.AccountType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseFieldsetsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .setFilterProvider(SparseFieldsets.defaultFilters());
+
+    private final AccountSummary account = new AccountSummary(7L, "ACC007", 3L, AccountType.SAVINGS,
+            new BigDecimal("100.00"), new BigDecimal("25.50"), AccountStatus.ACTIVE, LocalDateTime.of(2024, 3, 1, 9, 0), null);
+
+    @Test
+    void testFullBodyWithoutFields() throws Exception {
+        assertSame(account, SparseFieldsets.apply(account, null));
+        assertSame(account, SparseFieldsets.apply(account, " "));
+
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(account));
+        assertEquals(0, new BigDecimal("125.50").compareTo(json.get("balance").decimalValue()));
+        assertEquals("ACC007", json.get("accountNumber").asText());
+        assertFalse(json.has("customerId"));
+    }
+
+    @Test
+    void testOnlyListedFieldsAreWrittenInsideWrappers() throws Exception {
+        MappingJacksonValue value = (MappingJacksonValue) SparseFieldsets.apply(Map.of("content", List.of(account)),
+                "accountNumber, balance,,");
+
+        JsonNode json = objectMapper.readTree(objectMapper.writer(value.getFilters()).writeValueAsString(value.getValue()));
+        JsonNode written = json.get("content").get(0);
+        assertEquals(2, written.size());
+        assertEquals("ACC007", written.get("accountNumber").asText());
+        assertTrue(written.has("balance"));
+    }
+}
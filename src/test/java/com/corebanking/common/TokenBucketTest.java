@@ -0,0 +1,46 @@
+package com.corebanking.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testBurstThenSteadyRate() {
+        TokenBucket bucket = new TokenBucket(3, 1, now::get);
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        assertEquals(TimeUnit.SECONDS.toNanos(1), bucket.nanosUntilAvailable(), 1);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertFalse(bucket.tryAcquire());
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void testRefillIsCappedAtCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 10, now::get);
+        now.addAndGet(TimeUnit.MINUTES.toNanos(5));
+
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
@@ -0,0 +1,109 @@
+package com.corebanking.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RateLimitFilter rateLimitFilter = new RateLimitFilter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rateLimitFilter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(rateLimitFilter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimitFilter, "maxTracked", 100L);
+        ReflectionTestUtils.setField(rateLimitFilter, "postingCapacity", 2);
+        ReflectionTestUtils.setField(rateLimitFilter, "postingRefillPerSecond", 0.01);
+        ReflectionTestUtils.setField(rateLimitFilter, "readCapacity", 3);
+        ReflectionTestUtils.setField(rateLimitFilter, "readRefillPerSecond", 0.01);
+        ReflectionTestUtils.setField(rateLimitFilter, "reportsCapacity", 1);
+        ReflectionTestUtils.setField(rateLimitFilter, "reportsRefillPerSecond", 0.01);
+        rateLimitFilter.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testEndpointsAreClassified() {
+        assertEquals(RateLimitFilter.EndpointClass.POSTING, RateLimitFilter.classify(request("POST", "/transaction/deposit")));
+        assertEquals(RateLimitFilter.EndpointClass.READ, RateLimitFilter.classify(request("GET", "/transaction/account/ACC1/history")));
+        assertEquals(RateLimitFilter.EndpointClass.REPORTS, RateLimitFilter.classify(request("GET", "/reports/dashboard-stats")));
+        assertEquals(RateLimitFilter.EndpointClass.READ, RateLimitFilter.classify(request("GET", "/account/my-accounts")));
+    }
+
+    @Test
+    void testUserOverLimitGets429WithRetryAfter() throws Exception {
+        authenticate("john");
+        assertEquals(200, perform("POST", "/transaction/deposit").getStatus());
+        assertEquals(200, perform("POST", "/transaction/withdraw").getStatus());
+
+        MockHttpServletResponse rejected = perform("POST", "/transaction/transfer");
+        assertEquals(429, rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader("Retry-After")) >= 1);
+
+        // Reads have their own bucket, and other users theirs
+        assertEquals(200, perform("GET", "/account/my-accounts").getStatus());
+        authenticate("jane");
+        assertEquals(200, perform("POST", "/transaction/deposit").getStatus());
+
+        assertEquals(1.0, meterRegistry.get("banking.rate-limit.rejected")
+                .tag("bucket", "posting").tag("scope", "user").counter().count());
+    }
+
+    @Test
+    void testAnonymousCallersAreLimitedByIp() throws Exception {
+        assertEquals(200, perform("GET", "/reports/dashboard-stats").getStatus());
+        assertEquals(429, perform("GET", "/reports/dashboard-stats").getStatus());
+
+        MockHttpServletRequest otherIp = request("GET", "/reports/dashboard-stats");
+        otherIp.setRemoteAddr("10.0.0.2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(otherIp, response, new MockFilterChain());
+        assertEquals(200, response.getStatus());
+
+        assertEquals(1.0, meterRegistry.get("banking.rate-limit.rejected")
+                .tag("bucket", "reports").tag("scope", "ip").counter().count());
+    }
+
+    @Test
+    void testLoginIsNotCounted() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, perform("POST", "/auth/login").getStatus());
+        }
+    }
+
+    private MockHttpServletResponse perform(String method, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request(method, path), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api" + path);
+        request.setContextPath("/api");
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.corebanking.security;
+
+import com.corebanking.service.PrincipalChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider();
+
+    private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "testSecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60_000);
+        tokenProvider.init();
+
+        ReflectionTestUtils.setField(verifiedTokenCache, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(verifiedTokenCache, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(verifiedTokenCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(verifiedTokenCache, "maxTtlSeconds", 300L);
+        verifiedTokenCache.init();
+    }
+
+    @Test
+    void testTokenIsVerifiedAndLoadedOnce() {
+        when(userDetailsService.loadUserByUsername("john")).thenReturn(user("john", true));
+        String token = tokenProvider.generateToken("john");
+
+        VerifiedTokenCache.VerifiedToken first = verifiedTokenCache.authenticate(token).orElseThrow();
+        VerifiedTokenCache.VerifiedToken second = verifiedTokenCache.authenticate(token).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals("john", first.userDetails().getUsername());
+        assertEquals("", first.userDetails().getPassword());
+        verify(userDetailsService, times(1)).loadUserByUsername("john");
+    }
+
+    @Test
+    void testInvalidTokensAreRejected() {
+        String token = tokenProvider.generateToken("john");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertTrue(verifiedTokenCache.authenticate(tampered).isEmpty());
+        assertTrue(verifiedTokenCache.authenticate("not-a-token").isEmpty());
+
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", -1_000);
+        assertTrue(verifiedTokenCache.authenticate(tokenProvider.generateToken("john")).isEmpty());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void testDisabledAndUnknownUsersAreRejected() {
+        when(userDetailsService.loadUserByUsername("gone")).thenThrow(new UsernameNotFoundException("gone"));
+        when(userDetailsService.loadUserByUsername("off")).thenReturn(user("off", false));
+
+        assertTrue(verifiedTokenCache.authenticate(tokenProvider.generateToken("gone")).isEmpty());
+        assertTrue(verifiedTokenCache.authenticate(tokenProvider.generateToken("off")).isEmpty());
+    }
+
+    @Test
+    void testPrincipalChangeDropsCachedTokens() {
+        when(userDetailsService.loadUserByUsername("john")).thenReturn(user("john", true));
+        String token = tokenProvider.generateToken("john");
+
+        verifiedTokenCache.authenticate(token);
+        verifiedTokenCache.onPrincipalChanged(new PrincipalChangedEvent("john"));
+        verifiedTokenCache.authenticate(token);
+
+        verify(userDetailsService, times(2)).loadUserByUsername("john");
+    }
+
+    private User user(String username, boolean enabled) {
+        return new User(username, "hash", enabled, true, true, true, List.of());
+    }
+}
@@ -0,0 +1,166 @@
+package com.corebanking.service;
+
+import com.corebanking.entity.PostingRequest;
+import com.corebanking.entity.PostingRequestStatus;
+import com.corebanking.entity.Transaction;
+import com.corebanking.entity.TransactionType;
+import com.corebanking.repository.PostingRequestRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncPostingServiceTest {
+
+    @Mock
+    private PostingRequestRepository postingRequestRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AsyncPostingService asyncPostingService;
+
+    private final BigDecimal amount = new BigDecimal("100.00");
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ReflectionTestUtils.setField(asyncPostingService, "transactionTemplate", new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(asyncPostingService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(asyncPostingService, "workers", 2);
+        ReflectionTestUtils.setField(asyncPostingService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(asyncPostingService, "staleAfterSeconds", 30L);
+        asyncPostingService.init();
+    }
+
+    @Test
+    void testAcceptedPostingIsPostedByWorker() throws InterruptedException {
+        PostingRequest request = stored(TransactionType.DEPOSIT, null);
+        when(transactionService.deposit("ACC001", amount, "salary")).thenReturn(transaction(42L, "TXN0000000000001"));
+
+        PostingRequest accepted = asyncPostingService.accept("john", null, "hash", TransactionType.DEPOSIT,
+                "ACC001", null, amount, "salary");
+        assertSame(request, accepted);
+
+        verify(transactionService, timeout(5000)).deposit("ACC001", amount, "salary");
+        asyncPostingService.stop();
+
+        assertEquals(PostingRequestStatus.POSTED, request.getStatus());
+        assertEquals(42L, request.getTransactionId());
+        assertEquals("TXN0000000000001", request.getReferenceNumber());
+    }
+
+    @Test
+    void testRejectedPostingRecordsReason() throws InterruptedException {
+        PostingRequest request = stored(TransactionType.WITHDRAWAL, null);
+        when(transactionService.withdraw("ACC001", amount, "salary")).thenThrow(new RuntimeException("Insufficient balance"));
+
+        asyncPostingService.accept("john", null, "hash", TransactionType.WITHDRAWAL, "ACC001", null, amount, "salary");
+
+        verify(transactionService, timeout(5000)).withdraw("ACC001", amount, "salary");
+        asyncPostingService.stop();
+
+        assertEquals(PostingRequestStatus.REJECTED, request.getStatus());
+        assertEquals("Insufficient balance", request.getFailureReason());
+        assertNull(request.getTransactionId());
+    }
+
+    @Test
+    void testLockTimeoutLeavesRequestPending() throws InterruptedException {
+        PostingRequest request = stored(TransactionType.DEPOSIT, null);
+        when(transactionService.deposit("ACC001", amount, "salary")).thenThrow(new CannotAcquireLockException("Lock wait timeout"));
+
+        asyncPostingService.accept("john", null, "hash", TransactionType.DEPOSIT, "ACC001", null, amount, "salary");
+
+        verify(transactionService, timeout(5000)).deposit("ACC001", amount, "salary");
+        asyncPostingService.stop();
+
+        assertEquals(PostingRequestStatus.PENDING, request.getStatus());
+    }
+
+    @Test
+    void testRetryWithSameKeyReturnsOriginalRequest() {
+        PostingRequest existing = new PostingRequest("john", "key-1", "hash", TransactionType.DEPOSIT,
+                "ACC001", null, amount, "salary");
+        existing.setRequestId(5L);
+        when(postingRequestRepository.findByUsernameAndIdempotencyKey("john", "key-1")).thenReturn(Optional.of(existing));
+
+        PostingRequest retry = asyncPostingService.accept("john", "key-1", "hash", TransactionType.DEPOSIT,
+                "ACC001", null, amount, "salary");
+
+        assertSame(existing, retry);
+        assertThrows(RuntimeException.class, () -> asyncPostingService.accept("john", "key-1", "other-hash",
+                TransactionType.DEPOSIT, "ACC001", null, amount, "salary"));
+        verify(postingRequestRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void testKeyIsClaimedWithRequestAndCompletedByWorker() throws InterruptedException {
+        PostingRequest request = stored(TransactionType.DEPOSIT, "key-1");
+        Transaction posted = transaction(42L, "TXN0000000000001");
+        when(transactionService.deposit("ACC001", amount, "salary")).thenReturn(posted);
+
+        asyncPostingService.accept("john", "key-1", "hash", TransactionType.DEPOSIT, "ACC001", null, amount, "salary");
+
+        verify(idempotencyService).claimForRequest("john", "key-1", "hash", 5L);
+        verify(idempotencyService, timeout(5000)).completeRequest(5L, posted);
+        asyncPostingService.stop();
+        assertEquals(PostingRequestStatus.POSTED, request.getStatus());
+    }
+
+    @Test
+    void testKeyUsedSynchronouslyIsNotAccepted() {
+        stored(TransactionType.DEPOSIT, "key-1");
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .when(idempotencyService).claimForRequest("john", "key-1", "hash", 5L);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> asyncPostingService.accept("john", "key-1",
+                "hash", TransactionType.DEPOSIT, "ACC001", null, amount, "salary"));
+
+        assertEquals("Idempotency key was already used for a synchronous request", exception.getMessage());
+        verify(transactionManager).rollback(any());
+        verifyNoInteractions(transactionService);
+    }
+
+    private PostingRequest stored(TransactionType type, String idempotencyKey) {
+        PostingRequest request = new PostingRequest("john", idempotencyKey, "hash", type, "ACC001", null, amount, "salary");
+        when(postingRequestRepository.saveAndFlush(any(PostingRequest.class))).thenAnswer(invocation -> {
+            request.setRequestId(5L);
+            return request;
+        });
+        lenient().when(postingRequestRepository.findForUpdate(5L)).thenReturn(Optional.of(request));
+        return request;
+    }
+
+    private Transaction transaction(Long id, String referenceNumber) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(id);
+        transaction.setReferenceNumber(referenceNumber);
+        return transaction;
+    }
+}
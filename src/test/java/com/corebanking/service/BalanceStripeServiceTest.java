@@ -0,0 +1,175 @@
+package com.corebanking.service;
+
+import com.corebanking.entity.*;
+import com.corebanking.repository.AccountBalanceStripeRepository;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:striping",
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+class BalanceStripeServiceTest {
+
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceStripeRepository stripeRepository;
+
+    @Autowired
+    private BalanceStripeService balanceStripeService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void testCreditsSpreadOverStripesAndDebitsDrawAcrossThem() {
+        String accountNumber = createAccount(BigDecimal.valueOf(100)).getAccountNumber();
+        balanceStripeService.enableStriping(accountNumber, 4);
+        assertTrue(balanceStripeService.isStriped(accountNumber));
+
+        for (int i = 0; i < 8; i++) {
+            transactionService.deposit(accountNumber, BigDecimal.valueOf(50), "striped");
+        }
+        Account account = accountRepository.findByAccountNumber(accountNumber).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(account.getBaseBalance()));
+        assertEquals(0, BigDecimal.valueOf(500).compareTo(account.getBalance()));
+
+        // Empties the base row, then takes the rest from the stripes
+        Transaction withdrawal = transactionService.withdraw(accountNumber, BigDecimal.valueOf(420), "striped");
+        assertEquals(0, BigDecimal.valueOf(80).compareTo(withdrawal.getBalanceAfter()));
+        assertEquals(0, BigDecimal.valueOf(80).compareTo(stripeTotal(account)));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> transactionService.withdraw(accountNumber, BigDecimal.valueOf(81), "striped"));
+        assertEquals("Insufficient balance", exception.getMessage());
+
+        balanceStripeService.disableStriping(accountNumber);
+        Account merged = accountRepository.findByAccountNumber(accountNumber).orElseThrow();
+        assertFalse(merged.isStriped());
+        assertEquals(0, BigDecimal.valueOf(80).compareTo(merged.getBaseBalance()));
+        assertTrue(stripeRepository.findAll().stream().noneMatch(stripe -> stripe.getAccountId().equals(merged.getAccountId())));
+    }
+
+    @Test
+    void testStaleRoutingStillChecksEveryStripe() {
+        // Striped behind this node's back, so postings take the plain row-locking path
+        Account account = createStripedAccount(BigDecimal.ZERO, BigDecimal.valueOf(100), BigDecimal.valueOf(100));
+        assertFalse(balanceStripeService.isStriped(account.getAccountNumber()));
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Loaded before another transaction empties a stripe
+            accountRepository.findById(account.getAccountId()).orElseThrow();
+            requiresNew.executeWithoutResult(other -> stripeRepository.findByAccountIdForUpdate(account.getAccountId())
+                    .get(0).setBalance(BigDecimal.ZERO));
+
+            RuntimeException exception = assertThrows(RuntimeException.class,
+                    () -> transactionService.withdraw(account.getAccountNumber(), BigDecimal.valueOf(150), "stale"));
+            assertEquals("Insufficient balance", exception.getMessage());
+            status.setRollbackOnly();
+        });
+
+        // Only the base row absorbs the debit; the stripes are left alone
+        Transaction withdrawal = transactionService.withdraw(account.getAccountNumber(), BigDecimal.valueOf(60), "stale");
+        assertEquals(0, BigDecimal.valueOf(40).compareTo(withdrawal.getBalanceAfter()));
+        Account after = accountRepository.findById(account.getAccountId()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(40).compareTo(after.getBalance()));
+        assertEquals(0, BigDecimal.valueOf(-60).compareTo(after.getBaseBalance()));
+    }
+
+    // On InnoDB the stripe total read with a row locked FOR UPDATE is still a snapshot read. H2
+    // cannot reproduce that, so a wrong total is planted instead.
+    @Test
+    void testLockStripesReplacesSnapshotTotal() {
+        Account striped = createStripedAccount(BigDecimal.TEN, BigDecimal.valueOf(5), BigDecimal.valueOf(7));
+        Account plain = createAccount(BigDecimal.ONE);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Account> accounts = accountRepository.findAllByIdInForUpdate(
+                    List.of(striped.getAccountId(), plain.getAccountId()));
+            accounts.forEach(account -> account.setStripedBalance(BigDecimal.valueOf(-1)));
+
+            balanceStripeService.lockStripes(accounts);
+
+            for (Account account : accounts) {
+                BigDecimal expected = account.isStriped() ? BigDecimal.valueOf(22) : BigDecimal.ONE;
+                assertEquals(0, expected.compareTo(account.getBalance()));
+            }
+            status.setRollbackOnly();
+        });
+    }
+
+    private BigDecimal stripeTotal(Account account) {
+        return stripeRepository.sumBalance(account.getAccountId());
+    }
+
+    private Account createStripedAccount(BigDecimal baseBalance, BigDecimal... stripeBalances) {
+        Account account = createAccount(baseBalance);
+        account.setStripeCount(stripeBalances.length);
+        accountRepository.save(account);
+        for (int i = 0; i < stripeBalances.length; i++) {
+            AccountBalanceStripe stripe = new AccountBalanceStripe(account.getAccountId(), i);
+            stripe.setBalance(stripeBalances[i]);
+            stripeRepository.save(stripe);
+        }
+        return account;
+    }
+
+    private Account createAccount(BigDecimal balance) {
+        String name = "striping" + NAMES.incrementAndGet();
+        User user = userRepository.save(new User(name, name + "@test.local", "n/a", UserRole.CUSTOMER));
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer.setFirstName("Stripe");
+        customer.setLastName(name);
+        customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setGender(Gender.OTHER);
+        customer.setPhoneNumber("70000" + NAMES.get());
+        customer.setAddressLine1("1 Test Street");
+        customer.setCity("Pune");
+        customer.setState("MH");
+        customer.setPostalCode("411001");
+        customer.setKycStatus(KycStatus.APPROVED);
+        customerRepository.save(customer);
+
+        Account account = new Account(customer, "ST" + NAMES.incrementAndGet(), AccountType.SAVINGS);
+        account.setBalance(balance);
+        return accountRepository.save(account);
+    }
+}
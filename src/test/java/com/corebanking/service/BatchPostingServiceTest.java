@@ -0,0 +1,167 @@
+package com.corebanking.service;
+
+import com.corebanking.dto.BatchItemResult;
+import com.corebanking.dto.BatchOperation;
+import com.corebanking.dto.BatchTransactionItem;
+import com.corebanking.dto.BatchTransactionResponse;
+import com.corebanking.entity.*;
+import com.corebanking.repository.AccountBalanceStripeRepository;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.TransactionRepository;
+import com.corebanking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:batchposting",
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+class BatchPostingServiceTest {
+
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBalanceStripeRepository stripeRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private BatchPostingService batchPostingService;
+
+    @Test
+    void testRejectedItemsLeaveTheRestOfTheBatchPosted() {
+        Customer customer = createCustomer();
+        Account account = createAccount(customer, BigDecimal.valueOf(100), AccountStatus.ACTIVE);
+        Account savings = createAccount(customer, BigDecimal.ZERO, AccountStatus.ACTIVE);
+        Account frozen = createAccount(customer, BigDecimal.valueOf(100), AccountStatus.FROZEN);
+        Account other = createAccount(createCustomer(), BigDecimal.valueOf(100), AccountStatus.ACTIVE);
+        long postings = transactionRepository.count();
+
+        BatchTransactionResponse response = batchPostingService.post(List.of(
+                item(BatchOperation.DEPOSIT, account, null, "50"),
+                item(BatchOperation.WITHDRAW, account, null, "500"),
+                item(BatchOperation.DEPOSIT, other, null, "10"),
+                item(BatchOperation.TRANSFER, account, other, "10"),
+                item(BatchOperation.DEPOSIT, frozen, null, "10"),
+                item(BatchOperation.DEPOSIT, account, null, "-1"),
+                item(BatchOperation.TRANSFER, account, account, "10"),
+                item(BatchOperation.TRANSFER, account, savings, "40")), customer.getCustomerId(), "batch");
+
+        List<BatchItemResult> results = response.getResults();
+        assertEquals(3, response.getPosted());
+        assertEquals(5, response.getRejected());
+        assertPosted(results.get(0), "150");
+        assertRejected(results.get(1), "Insufficient balance");
+        assertRejected(results.get(2), "Account access denied");
+        // Paying into another customer's account is allowed; only the debited account must be owned
+        assertPosted(results.get(3), "140");
+        assertRejected(results.get(4), "Account is not active");
+        assertRejected(results.get(5), "Amount must be positive");
+        assertRejected(results.get(6), "Cannot transfer to the same account");
+        assertPosted(results.get(7), "100");
+
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(balanceOf(account)));
+        assertEquals(0, BigDecimal.valueOf(40).compareTo(balanceOf(savings)));
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(balanceOf(frozen)));
+        assertEquals(0, BigDecimal.valueOf(110).compareTo(balanceOf(other)));
+        assertEquals(postings + 5, transactionRepository.count());
+    }
+
+    @Test
+    void testStripedAccountSettlesOnBaseRow() {
+        Customer customer = createCustomer();
+        Account account = createAccount(customer, BigDecimal.TEN, AccountStatus.ACTIVE);
+        account.setStripeCount(2);
+        accountRepository.save(account);
+        for (int i = 0; i < 2; i++) {
+            AccountBalanceStripe stripe = new AccountBalanceStripe(account.getAccountId(), i);
+            stripe.setBalance(BigDecimal.valueOf(5 + 2 * i));
+            stripeRepository.save(stripe);
+        }
+
+        BatchTransactionResponse response = batchPostingService.post(List.of(
+                item(BatchOperation.WITHDRAW, account, null, "20"),
+                item(BatchOperation.WITHDRAW, account, null, "3")), customer.getCustomerId(), "batch");
+
+        // The stripes count towards the balance but are left untouched
+        assertPosted(response.getResults().get(0), "2");
+        assertRejected(response.getResults().get(1), "Insufficient balance");
+        Account after = accountRepository.findById(account.getAccountId()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(-10).compareTo(after.getBaseBalance()));
+        assertEquals(0, BigDecimal.valueOf(12).compareTo(stripeRepository.sumBalance(account.getAccountId())));
+    }
+
+    private void assertPosted(BatchItemResult result, String balanceAfter) {
+        assertEquals(BatchItemResult.POSTED, result.getStatus(), result.getMessage());
+        assertNotNull(result.getReferenceNumber());
+        assertEquals(0, new BigDecimal(balanceAfter).compareTo(result.getBalanceAfter()));
+    }
+
+    private void assertRejected(BatchItemResult result, String message) {
+        assertEquals(BatchItemResult.REJECTED, result.getStatus());
+        assertEquals(message, result.getMessage());
+    }
+
+    private BatchTransactionItem item(BatchOperation operation, Account account, Account toAccount, String amount) {
+        BatchTransactionItem item = new BatchTransactionItem();
+        item.setOperation(operation);
+        item.setAccountNumber(account.getAccountNumber());
+        item.setToAccountNumber(toAccount != null ? toAccount.getAccountNumber() : null);
+        item.setAmount(new BigDecimal(amount));
+        item.setDescription("batch");
+        return item;
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getAccountId()).orElseThrow().getBalance();
+    }
+
+    private Customer createCustomer() {
+        String name = "batch" + NAMES.incrementAndGet();
+        User user = userRepository.save(new User(name, name + "@test.local", "n/a", UserRole.CUSTOMER));
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer.setFirstName("Batch");
+        customer.setLastName(name);
+        customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setGender(Gender.OTHER);
+        customer.setPhoneNumber("90000" + NAMES.get());
+        customer.setAddressLine1("1 Test Street");
+        customer.setCity("Pune");
+        customer.setState("MH");
+        customer.setPostalCode("411001");
+        customer.setKycStatus(KycStatus.APPROVED);
+        return customerRepository.save(customer);
+    }
+
+    private Account createAccount(Customer customer, BigDecimal balance, AccountStatus status) {
+        Account account = new Account(customer, "BP" + NAMES.incrementAndGet(), AccountType.SAVINGS);
+        account.setBalance(balance);
+        account.setStatus(status);
+        return accountRepository.save(account);
+    }
+}
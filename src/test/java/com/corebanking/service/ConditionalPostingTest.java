@@ -0,0 +1,178 @@
+package com.corebanking.service;
+
+import com.corebanking.entity.*;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.TransactionRepository;
+import com.corebanking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:conditional",
+        "banking.posting.mode=CONDITIONAL",
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+class ConditionalPostingTest {
+
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private FixedDepositService fixedDepositService;
+
+    @Test
+    void testDepositAndWithdrawReportBalanceAfter() {
+        Account account = createAccount(BigDecimal.valueOf(100), AccountStatus.ACTIVE);
+
+        Transaction deposit = transactionService.deposit(account.getAccountNumber(), BigDecimal.valueOf(50), "in");
+        Transaction withdrawal = transactionService.withdraw(account.getAccountNumber(), BigDecimal.valueOf(30), "out");
+
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(deposit.getBalanceAfter()));
+        assertEquals(0, BigDecimal.valueOf(120).compareTo(withdrawal.getBalanceAfter()));
+        assertEquals(0, BigDecimal.valueOf(120).compareTo(balanceOf(account)));
+    }
+
+    @Test
+    void testInsufficientFundsLeavesBalanceUnchanged() {
+        Account account = createAccount(BigDecimal.valueOf(100), AccountStatus.ACTIVE);
+        long postings = transactionRepository.count();
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> transactionService.withdraw(account.getAccountNumber(), BigDecimal.valueOf(100.01), "out"));
+
+        assertEquals("Insufficient balance", exception.getMessage());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(balanceOf(account)));
+        assertEquals(postings, transactionRepository.count());
+    }
+
+    @Test
+    void testInactiveAccountIsRejected() {
+        Account account = createAccount(BigDecimal.valueOf(100), AccountStatus.FROZEN);
+
+        RuntimeException deposit = assertThrows(RuntimeException.class,
+                () -> transactionService.deposit(account.getAccountNumber(), BigDecimal.TEN, "in"));
+        RuntimeException withdrawal = assertThrows(RuntimeException.class,
+                () -> transactionService.withdraw(account.getAccountNumber(), BigDecimal.TEN, "out"));
+        RuntimeException missing = assertThrows(RuntimeException.class,
+                () -> transactionService.deposit("NO-SUCH-ACCOUNT", BigDecimal.TEN, "in"));
+
+        assertEquals("Account is not active", deposit.getMessage());
+        assertEquals("Account is not active", withdrawal.getMessage());
+        assertEquals("Account not found", missing.getMessage());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(balanceOf(account)));
+    }
+
+    @Test
+    void testTransferInEitherAccountOrder() {
+        Account first = createAccount(BigDecimal.valueOf(100), AccountStatus.ACTIVE);
+        Account second = createAccount(BigDecimal.valueOf(100), AccountStatus.ACTIVE);
+        assertTrue(first.getAccountNumber().compareTo(second.getAccountNumber()) < 0);
+
+        // Debit leg first, then the other way round with the credit leg first
+        Transaction forward = transactionService.transfer(first.getAccountNumber(), second.getAccountNumber(),
+                BigDecimal.valueOf(30), "forward");
+        Transaction backward = transactionService.transfer(second.getAccountNumber(), first.getAccountNumber(),
+                BigDecimal.valueOf(80), "backward");
+
+        assertEquals(0, BigDecimal.valueOf(70).compareTo(forward.getBalanceAfter()));
+        assertEquals(0, BigDecimal.valueOf(50).compareTo(backward.getBalanceAfter()));
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(balanceOf(first)));
+        assertEquals(0, BigDecimal.valueOf(50).compareTo(balanceOf(second)));
+    }
+
+    @Test
+    void testFailedSecondLegRollsBackFirst() {
+        Account active = createAccount(BigDecimal.valueOf(100), AccountStatus.ACTIVE);
+        Account frozen = createAccount(BigDecimal.valueOf(100), AccountStatus.FROZEN);
+        Account poor = createAccount(BigDecimal.ONE, AccountStatus.ACTIVE);
+
+        // The debit is applied first and undone when the frozen account refuses the credit
+        RuntimeException toFrozen = assertThrows(RuntimeException.class,
+                () -> transactionService.transfer(active.getAccountNumber(), frozen.getAccountNumber(), BigDecimal.TEN, "x"));
+        // The credit is applied first and undone when the debit finds too little
+        RuntimeException fromPoor = assertThrows(RuntimeException.class,
+                () -> transactionService.transfer(poor.getAccountNumber(), active.getAccountNumber(), BigDecimal.TEN, "x"));
+
+        assertEquals("Both accounts must be active", toFrozen.getMessage());
+        assertEquals("Insufficient balance", fromPoor.getMessage());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(balanceOf(active)));
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(balanceOf(frozen)));
+        assertEquals(0, BigDecimal.ONE.compareTo(balanceOf(poor)));
+    }
+
+    @Test
+    void testCallerHoldingTheAccountSeesTheUpdate() {
+        Account account = createAccount(BigDecimal.valueOf(5000), AccountStatus.ACTIVE);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Loads the account, then withdraws through the conditional update
+            fixedDepositService.createFixedDeposit(account.getAccountNumber(), BigDecimal.valueOf(1000),
+                    BigDecimal.valueOf(6.5), 12);
+            Account managed = accountRepository.findByAccountNumber(account.getAccountNumber()).orElseThrow();
+            assertEquals(0, BigDecimal.valueOf(4000).compareTo(managed.getBalance()));
+
+            // Dirty, so it is flushed at commit; a stale balance would be written back
+            managed.setAccountType(AccountType.CHECKING);
+        });
+
+        assertEquals(0, BigDecimal.valueOf(4000).compareTo(balanceOf(account)));
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getAccountId()).orElseThrow().getBalance();
+    }
+
+    private Account createAccount(BigDecimal balance, AccountStatus status) {
+        String name = "conditional" + NAMES.incrementAndGet();
+        User user = userRepository.save(new User(name, name + "@test.local", "n/a", UserRole.CUSTOMER));
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer.setFirstName("Cond");
+        customer.setLastName(name);
+        customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setGender(Gender.OTHER);
+        customer.setPhoneNumber("60000" + NAMES.get());
+        customer.setAddressLine1("1 Test Street");
+        customer.setCity("Pune");
+        customer.setState("MH");
+        customer.setPostalCode("411001");
+        customer.setKycStatus(KycStatus.APPROVED);
+        customerRepository.save(customer);
+
+        Account account = new Account(customer, String.format("CD%05d", NAMES.incrementAndGet()), AccountType.SAVINGS);
+        account.setBalance(balance);
+        account.setStatus(status);
+        return accountRepository.save(account);
+    }
+}
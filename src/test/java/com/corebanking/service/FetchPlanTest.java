@@ -0,0 +1,283 @@
+package com.corebanking.service;
+
+import com.corebanking.dto.TransactionSummary;
+import com.corebanking.entity.*;
+import com.corebanking.repository.AccountBalanceStripeRepository;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.FixedDepositRepository;
+import com.corebanking.repository.InterestPostingRepository;
+import com.corebanking.repository.TransactionRepository;
+import com.corebanking.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Each read issues a fixed number of statements however many rows and owners it returns
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:fetchplan",
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+class FetchPlanTest {
+
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private FixedDepositRepository fixedDepositRepository;
+
+    @Autowired
+    private AccountBalanceStripeRepository accountBalanceStripeRepository;
+
+    @Autowired
+    private InterestPostingRepository interestPostingRepository;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private FixedDepositService fixedDepositService;
+
+    @Autowired
+    private InterestService interestService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testDashboardDoesNotLoadOwners() {
+        for (int i = 0; i < 3; i++) {
+            createAccount(createCustomer(KycStatus.APPROVED));
+        }
+
+        assertEquals(1, statementsFor(() -> assertTrue(savingsTotals().accounts() >= 3)));
+    }
+
+    @Test
+    void testDashboardCountsStripedBalancesOnce() {
+        ReportService.AccountTotals before = savingsTotals();
+
+        Account account = createAccount(createCustomer(KycStatus.APPROVED));
+        account.setStripeCount(2);
+        accountRepository.save(account);
+        for (int stripe = 0; stripe < 2; stripe++) {
+            AccountBalanceStripe row = new AccountBalanceStripe(account.getAccountId(), stripe);
+            row.setBalance(BigDecimal.valueOf(100));
+            accountBalanceStripeRepository.save(row);
+        }
+
+        ReportService.AccountTotals after = savingsTotals();
+        assertEquals(1, after.accounts() - before.accounts());
+        assertEquals(0, BigDecimal.valueOf(5200).compareTo(after.balance().subtract(before.balance())));
+    }
+
+    @Test
+    void testTransactionListDoesNotLoadAccounts() {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(1);
+        for (int i = 0; i < 3; i++) {
+            createTransaction(createAccount(createCustomer(KycStatus.APPROVED)));
+        }
+
+        assertEquals(1, statementsFor(() -> {
+            List<Transaction> transactions = transactionRepository.findByTransactionDateBetween(start, LocalDateTime.now());
+            assertTrue(transactions.size() >= 3);
+        }));
+    }
+
+    @Test
+    void testHistoryIsOneStatement() {
+        Account account = createAccount(createCustomer(KycStatus.APPROVED));
+        for (int i = 0; i < 3; i++) {
+            createTransaction(account);
+        }
+
+        assertEquals(1, statementsFor(() ->
+                assertEquals(2, transactionService.getAccountHistory(account.getAccountId(), null, 2).getTransactions().size())));
+    }
+
+    @Test
+    void testKycReviewFetchesUsersWithCustomers() {
+        for (int i = 0; i < 3; i++) {
+            createCustomer(KycStatus.PENDING);
+        }
+
+        assertEquals(1, statementsFor(() -> transactionTemplate.executeWithoutResult(status -> {
+            List<Customer> pending = customerService.findByKycStatus(KycStatus.PENDING);
+            assertTrue(pending.size() >= 3);
+            pending.forEach(customer -> assertNotNull(customer.getUser().getUsername()));
+        })));
+    }
+
+    @Test
+    void testFixedDepositsFetchTheirAccounts() {
+        Customer customer = createCustomer(KycStatus.APPROVED);
+        List<String> fdNumbers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            fdNumbers.add(createFixedDeposit(createAccount(customer)).getFdNumber());
+        }
+
+        assertEquals(1, statementsFor(() -> transactionTemplate.executeWithoutResult(status -> {
+            List<FixedDeposit> deposits = fixedDepositService.getCustomerFixedDeposits(customer.getCustomerId());
+            assertEquals(3, deposits.size());
+            deposits.forEach(fd -> assertNotNull(fd.getAccount().getAccountNumber()));
+        })));
+
+        assertEquals(1, statementsFor(() -> transactionTemplate.executeWithoutResult(status ->
+                assertNotNull(fixedDepositService.getFixedDepositByNumber(fdNumbers.get(0)).orElseThrow()
+                        .getAccount().getAccountNumber()))));
+    }
+
+    @Test
+    void testInterestHistoryDoesNotLoadAccount() {
+        Account account = createAccount(createCustomer(KycStatus.APPROVED));
+        for (int i = 0; i < 3; i++) {
+            createInterestPosting(account);
+        }
+
+        assertEquals(1, statementsFor(() ->
+                assertEquals(3, interestService.getAccountInterestHistory(account.getAccountId()).size())));
+    }
+
+    @Test
+    void testPostingResponseSerializesAfterSessionCloses() throws Exception {
+        Account account = createAccount(createCustomer(KycStatus.APPROVED));
+
+        // The posted account's customer is an uninitialized proxy by the time the response is written
+        for (String key : new String[] {null, "fetchplan-" + NAMES.incrementAndGet()}) {
+            TransactionSummary posted = idempotencyService.execute("fetchplan", key,
+                    IdempotencyService.fingerprint("DEPOSIT", account.getAccountNumber(), null, BigDecimal.TEN, key),
+                    () -> transactionService.deposit(account.getAccountNumber(), BigDecimal.TEN, key));
+
+            String json = objectMapper.writeValueAsString(posted);
+            assertTrue(json.contains(posted.getReferenceNumber()));
+            assertFalse(json.contains("customer"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReportService.AccountTotals savingsTotals() {
+        Map<String, ReportService.AccountTotals> byType =
+                (Map<String, ReportService.AccountTotals>) reportService.getDashboardStats().get("byType");
+        return byType.getOrDefault("SAVINGS", new ReportService.AccountTotals(0, BigDecimal.ZERO));
+    }
+
+    private long statementsFor(Runnable work) {
+        statistics.clear();
+        work.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Customer createCustomer(KycStatus kycStatus) {
+        String name = "fetchplan" + NAMES.incrementAndGet();
+        User user = userRepository.save(new User(name, name + "@test.local", "n/a", UserRole.CUSTOMER));
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer.setFirstName("Fetch");
+        customer.setLastName(name);
+        customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setGender(Gender.OTHER);
+        customer.setPhoneNumber("90000" + NAMES.get());
+        customer.setAddressLine1("1 Test Street");
+        customer.setCity("Pune");
+        customer.setState("MH");
+        customer.setPostalCode("411001");
+        customer.setKycStatus(kycStatus);
+        return customerRepository.save(customer);
+    }
+
+    private Account createAccount(Customer customer) {
+        Account account = new Account(customer, "FP" + NAMES.incrementAndGet(), AccountType.SAVINGS);
+        account.setBalance(BigDecimal.valueOf(5000));
+        return accountRepository.save(account);
+    }
+
+    private void createTransaction(Account account) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setTransactionType(TransactionType.DEPOSIT);
+        transaction.setAmount(BigDecimal.TEN);
+        transaction.setTransactionDate(LocalDateTime.now());
+        transaction.setBalanceAfter(BigDecimal.valueOf(5010));
+        transaction.setReferenceNumber("FPREF" + NAMES.incrementAndGet());
+        transactionRepository.save(transaction);
+    }
+
+    private FixedDeposit createFixedDeposit(Account account) {
+        FixedDeposit fd = new FixedDeposit();
+        fd.setAccount(account);
+        fd.setFdNumber("FPFD" + NAMES.incrementAndGet());
+        fd.setPrincipalAmount(BigDecimal.valueOf(1000));
+        fd.setInterestRate(BigDecimal.valueOf(6.5));
+        fd.setTenureMonths(12);
+        fd.setStartDate(LocalDateTime.now());
+        fd.setMaturityDate(LocalDateTime.now().plusMonths(12));
+        return fixedDepositRepository.save(fd);
+    }
+
+    private void createInterestPosting(Account account) {
+        InterestPosting posting = new InterestPosting();
+        posting.setAccount(account);
+        posting.setPostingDate(LocalDateTime.now());
+        posting.setInterestAmount(BigDecimal.ONE);
+        posting.setCalculationPeriodFrom(LocalDateTime.now().minusMonths(1));
+        posting.setCalculationPeriodTo(LocalDateTime.now());
+        posting.setAverageBalance(BigDecimal.valueOf(5000));
+        posting.setInterestRate(BigDecimal.valueOf(4));
+        interestPostingRepository.save(posting);
+    }
+}
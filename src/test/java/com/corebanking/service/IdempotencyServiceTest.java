@@ -0,0 +1,185 @@
+package com.corebanking.service;
+
+import com.corebanking.dto.TransactionSummary;
+import com.corebanking.entity.IdempotencyKey;
+import com.corebanking.entity.IdempotencyStatus;
+import com.corebanking.entity.Transaction;
+import com.corebanking.repository.IdempotencyKeyRepository;
+import com.corebanking.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private IdempotencyService idempotencyService;
+
+    private final String requestHash = IdempotencyService.fingerprint("DEPOSIT", "ACC001", null, new BigDecimal("100.00"), "salary");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyService, "cacheMaxEntries", 100L);
+        ReflectionTestUtils.setField(idempotencyService, "cacheTtlMinutes", 15L);
+        ReflectionTestUtils.setField(idempotencyService, "retentionHours", 24L);
+        idempotencyService.init();
+    }
+
+    @Test
+    void testFingerprintIgnoresAmountScale() {
+        assertEquals(requestHash, IdempotencyService.fingerprint("DEPOSIT", "ACC001", null, new BigDecimal("100"), "salary"));
+        assertNotEquals(requestHash, IdempotencyService.fingerprint("DEPOSIT", "ACC001", null, new BigDecimal("100.01"), "salary"));
+    }
+
+    @Test
+    void testRetryIsAnsweredFromCache() {
+        AtomicReference<IdempotencyKey> claim = claimKey();
+        Transaction posted = transaction(42L);
+        AtomicInteger postings = new AtomicInteger();
+
+        TransactionSummary first = idempotencyService.execute("john", "key-1", requestHash, () -> {
+            postings.incrementAndGet();
+            return posted;
+        });
+        Optional<TransactionSummary> retry = idempotencyService.findReplay("john", "key-1", requestHash);
+
+        assertEquals(42L, first.getTransactionId());
+        assertTrue(retry.isPresent());
+        assertSame(first, retry.get());
+        assertEquals(1, postings.get());
+        assertEquals(IdempotencyStatus.COMPLETED, claim.get().getStatus());
+        assertEquals(42L, claim.get().getTransactionId());
+        verify(idempotencyKeyRepository, never()).findByUsernameAndIdempotencyKey(any(), any());
+    }
+
+    @Test
+    void testKeyReusedForDifferentRequestIsRejected() {
+        IdempotencyKey stored = storedKey(IdempotencyStatus.COMPLETED);
+        when(idempotencyKeyRepository.findByUsernameAndIdempotencyKey("john", "key-1")).thenReturn(Optional.of(stored));
+
+        String otherHash = IdempotencyService.fingerprint("WITHDRAW", "ACC001", null, new BigDecimal("100.00"), "salary");
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> idempotencyService.findReplay("john", "key-1", otherHash));
+        assertEquals("Idempotency key was already used for a different request", exception.getMessage());
+    }
+
+    @Test
+    void testConcurrentRetryReplaysWinner() {
+        when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(idempotencyKeyRepository.findByUsernameAndIdempotencyKey("john", "key-1"))
+                .thenReturn(Optional.of(storedKey(IdempotencyStatus.COMPLETED)));
+        TransactionSummary posted = TransactionSummary.from(transaction(42L));
+        when(transactionRepository.findSummaryById(42L)).thenReturn(Optional.of(posted));
+
+        TransactionSummary result = idempotencyService.execute("john", "key-1", requestHash, () -> {
+            throw new AssertionError("Posting must not run twice");
+        });
+
+        assertSame(posted, result);
+    }
+
+    @Test
+    void testKeyIsWrittenInPostingTransaction() {
+        claimKey();
+        InOrder order = inOrder(transactionManager, idempotencyKeyRepository);
+
+        idempotencyService.execute("john", "key-1", requestHash, () -> {
+            // The key is already claimed when the posting runs, and nothing has committed yet
+            verify(idempotencyKeyRepository).saveAndFlush(any(IdempotencyKey.class));
+            verify(transactionManager, never()).commit(any());
+            return transaction(42L);
+        });
+
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(idempotencyKeyRepository).saveAndFlush(any(IdempotencyKey.class));
+        order.verify(transactionManager).commit(any());
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void testFailedPostingRollsBackKey() {
+        claimKey();
+
+        // Rejections and unknown outcomes alike roll the key back together with the posting
+        assertThrows(RuntimeException.class, () -> idempotencyService.execute("john", "key-1", requestHash, () -> {
+            throw new RuntimeException("Insufficient balance");
+        }));
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(idempotencyKeyRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void testKeyClaimedAsynchronouslyIsNotPostedAgain() {
+        IdempotencyKey stored = storedKey(IdempotencyStatus.PENDING);
+        stored.setTransactionId(null);
+        stored.setRequestId(5L);
+        when(idempotencyKeyRepository.findByUsernameAndIdempotencyKey("john", "key-1")).thenReturn(Optional.of(stored));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> idempotencyService.findReplay("john", "key-1", requestHash));
+        assertEquals("A request with this idempotency key is still in progress", exception.getMessage());
+
+        when(idempotencyKeyRepository.findByRequestId(5L)).thenReturn(Optional.of(stored));
+        idempotencyService.completeRequest(5L, transaction(42L));
+        TransactionSummary posted = TransactionSummary.from(transaction(42L));
+        when(transactionRepository.findSummaryById(42L)).thenReturn(Optional.of(posted));
+
+        assertSame(posted, idempotencyService.findReplay("john", "key-1", requestHash).orElseThrow());
+    }
+
+    private AtomicReference<IdempotencyKey> claimKey() {
+        AtomicReference<IdempotencyKey> claim = new AtomicReference<>();
+        when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKey.class))).thenAnswer(invocation -> {
+            IdempotencyKey saved = invocation.getArgument(0);
+            saved.setIdempotencyId(7L);
+            claim.set(saved);
+            return saved;
+        });
+        return claim;
+    }
+
+    private IdempotencyKey storedKey(IdempotencyStatus status) {
+        IdempotencyKey stored = new IdempotencyKey("john", "key-1", requestHash, LocalDateTime.now().plusHours(1));
+        stored.setIdempotencyId(7L);
+        stored.setStatus(status);
+        stored.setTransactionId(42L);
+        return stored;
+    }
+
+    private Transaction transaction(Long id) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(id);
+        return transaction;
+    }
+}
@@ -0,0 +1,144 @@
+package com.corebanking.service;
+
+import com.corebanking.entity.User;
+import com.corebanking.entity.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginAttemptTrackerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final LoginAttemptTracker loginAttemptTracker = new LoginAttemptTracker();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginAttemptTracker, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(loginAttemptTracker, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(loginAttemptTracker, "maxFailures", 3);
+        ReflectionTestUtils.setField(loginAttemptTracker, "lockMinutes", 30L);
+        ReflectionTestUtils.setField(loginAttemptTracker, "maxTracked", 100L);
+        ReflectionTestUtils.setField(loginAttemptTracker, "batchSize", 500);
+        loginAttemptTracker.init();
+    }
+
+    @Test
+    void testRepeatedFailuresLockWithoutWrites() {
+        User user = user(1L);
+        for (int i = 0; i < 3; i++) {
+            assertFalse(loginAttemptTracker.isLocked(user));
+            loginAttemptTracker.recordFailure(user);
+        }
+
+        assertTrue(loginAttemptTracker.isLocked(user));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testChangesAreCoalescedPerUser() {
+        User first = user(1L);
+        User second = user(2L);
+        loginAttemptTracker.recordFailure(first);
+        loginAttemptTracker.recordFailure(first);
+        loginAttemptTracker.recordSuccess(first);
+        loginAttemptTracker.recordFailure(first);
+        loginAttemptTracker.recordSuccess(second);
+
+        loginAttemptTracker.flush();
+        List<Object[]> rows = flushedRows();
+        assertEquals(2, rows.size());
+
+        Object[] firstRow = rows.stream().filter(row -> row[3].equals(1L)).findFirst().orElseThrow();
+        // The success time is kept even though a later failure replaced the counters
+        assertNotNull(firstRow[0]);
+        assertEquals(1, firstRow[1]);
+        assertNull(firstRow[2]);
+
+        loginAttemptTracker.flush();
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testStateIsSeededFromRowAndExpiredLockIsCleared() {
+        User locked = user(1L);
+        locked.setFailedLoginAttempts(3);
+        locked.setAccountLockedUntil(LocalDateTime.now().plusMinutes(5));
+        User expired = user(2L);
+        expired.setFailedLoginAttempts(3);
+        expired.setAccountLockedUntil(LocalDateTime.now().minusMinutes(1));
+
+        assertTrue(loginAttemptTracker.isLocked(locked));
+        assertFalse(loginAttemptTracker.isLocked(expired));
+
+        loginAttemptTracker.flush();
+        Object[] row = flushedRows().get(0);
+        assertEquals(2L, row[3]);
+        assertEquals(0, row[1]);
+        assertNull(row[2]);
+    }
+
+    @Test
+    void testLockWrittenByAnotherInstanceIsPickedUp() {
+        User user = user(1L);
+        assertFalse(loginAttemptTracker.isLocked(user));
+        loginAttemptTracker.recordFailure(user);
+
+        // Reloaded for the next login after another instance locked the user
+        user.setFailedLoginAttempts(3);
+        user.setAccountLockedUntil(LocalDateTime.now().plusMinutes(5));
+        assertTrue(loginAttemptTracker.isLocked(user));
+
+        // A lock that has already run out is not taken back from an older row
+        User expired = user(2L);
+        assertFalse(loginAttemptTracker.isLocked(expired));
+        expired.setAccountLockedUntil(LocalDateTime.now().minusMinutes(1));
+        assertFalse(loginAttemptTracker.isLocked(expired));
+    }
+
+    @Test
+    void testFailedFlushIsRetried() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<Object[]>>any()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[][] {{1}});
+
+        loginAttemptTracker.recordSuccess(user(1L));
+        loginAttemptTracker.flush();
+        loginAttemptTracker.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<Object[]>>any());
+        assertInstanceOf(Timestamp.class, flushedRows().get(0)[0]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> flushedRows() {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), rows.capture(), anyInt(), ArgumentMatchers.<ParameterizedPreparedStatementSetter<Object[]>>any());
+        return rows.getValue();
+    }
+
+    private User user(Long userId) {
+        User user = new User("user" + userId, "user" + userId + "@test.local", "hash", UserRole.CUSTOMER);
+        user.setUserId(userId);
+        return user;
+    }
+}
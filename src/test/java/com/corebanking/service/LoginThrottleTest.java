@@ -0,0 +1,59 @@
+package com.corebanking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final LoginThrottle loginThrottle = new LoginThrottle();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginThrottle, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(loginThrottle, "usernameCapacity", 2);
+        ReflectionTestUtils.setField(loginThrottle, "usernameRefillPerMinute", 6.0);
+        ReflectionTestUtils.setField(loginThrottle, "ipCapacity", 3);
+        ReflectionTestUtils.setField(loginThrottle, "ipRefillPerMinute", 2.0);
+        ReflectionTestUtils.setField(loginThrottle, "maxTracked", 100L);
+        loginThrottle.init();
+    }
+
+    @Test
+    void testIpIsCheckedBeforeUsername() {
+        assertEquals(0, loginThrottle.acquire("alice", "10.0.0.1"));
+        assertEquals(0, loginThrottle.acquire("bob", "10.0.0.1"));
+        assertEquals(0, loginThrottle.acquire("carol", "10.0.0.1"));
+
+        // One token per 30 seconds at 2 per minute
+        assertEquals(30, loginThrottle.acquire("dave", "10.0.0.1"));
+        assertEquals(1, throttled("ip"));
+        assertEquals(0, throttled("username"));
+
+        // The attempt turned away by IP took nothing from dave's own allowance
+        assertEquals(0, loginThrottle.acquire("dave", "10.0.0.2"));
+        assertEquals(0, loginThrottle.acquire("dave", "10.0.0.3"));
+    }
+
+    @Test
+    void testUsernameIsLimitedAcrossIpsIgnoringCase() {
+        assertEquals(0, loginThrottle.acquire("alice", "10.0.0.1"));
+        assertEquals(0, loginThrottle.acquire("Alice", "10.0.0.2"));
+
+        // One token per 10 seconds at 6 per minute
+        assertEquals(10, loginThrottle.acquire("ALICE", "10.0.0.3"));
+        assertEquals(1, throttled("username"));
+        assertEquals(0, throttled("ip"));
+
+        assertEquals(0, loginThrottle.acquire("bob", "10.0.0.3"));
+    }
+
+    private double throttled(String scope) {
+        return meterRegistry.get("banking.auth.login.throttled").tag("scope", scope).counter().count();
+    }
+}
@@ -0,0 +1,79 @@
+package com.corebanking.service;
+
+import com.corebanking.common.CheckDigits;
+import com.corebanking.entity.NumberRange;
+import com.corebanking.repository.NumberRangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NumberRangeAllocatorTest {
+
+    @Mock
+    private NumberRangeRepository numberRangeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private NumberRangeAllocator numberRangeAllocator;
+
+    private NumberRange accountRange;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(numberRangeAllocator, "blockSize", 10);
+        numberRangeAllocator.init();
+        accountRange = new NumberRange(NumberRangeAllocator.ACCOUNT, 1_000_000_000L, 9_999_999_999L);
+    }
+
+    @Test
+    void testLeasesOneBlockPerBlockSizeNumbers() {
+        when(numberRangeRepository.findForUpdate(NumberRangeAllocator.ACCOUNT)).thenReturn(Optional.of(accountRange));
+
+        Set<String> issued = new HashSet<>();
+        for (int i = 0; i < 25; i++) {
+            String accountNumber = numberRangeAllocator.nextAccountNumber();
+            assertEquals(11, accountNumber.length());
+            assertTrue(CheckDigits.isValidLuhn(accountNumber));
+            issued.add(accountNumber);
+        }
+
+        assertEquals(25, issued.size());
+        verify(numberRangeRepository, times(3)).findForUpdate(NumberRangeAllocator.ACCOUNT);
+        assertEquals(1_000_000_030L, accountRange.getNextValue());
+    }
+
+    @Test
+    void testCreatesMissingRange() {
+        when(numberRangeRepository.findForUpdate(NumberRangeAllocator.FIXED_DEPOSIT)).thenReturn(Optional.empty());
+        when(numberRangeRepository.saveAndFlush(any(NumberRange.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        String fdNumber = numberRangeAllocator.nextFdNumber();
+
+        assertEquals("FD" + CheckDigits.withLuhn(1_000_000_000L), fdNumber);
+    }
+
+    @Test
+    void testExhaustedRangeFails() {
+        when(numberRangeRepository.findForUpdate(NumberRangeAllocator.ACCOUNT))
+                .thenReturn(Optional.of(new NumberRange(NumberRangeAllocator.ACCOUNT, 100L, 99L)));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> numberRangeAllocator.nextAccountNumber());
+        assertEquals("Number range ACCOUNT is exhausted", exception.getMessage());
+    }
+}
@@ -0,0 +1,73 @@
+package com.corebanking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private final PasswordHashingService passwordHashingService = new PasswordHashingService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(passwordHashingService, "passwordEncoder", new BCryptPasswordEncoder(6));
+        ReflectionTestUtils.setField(passwordHashingService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(passwordHashingService, "threads", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "timeoutMs", 10_000L);
+        passwordHashingService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.stop();
+    }
+
+    @Test
+    void testMatchesAndUpgradesWeakerHashes() {
+        String hash = passwordHashingService.encode("secret");
+
+        assertTrue(passwordHashingService.matches("secret", hash));
+        assertFalse(passwordHashingService.matches("wrong", hash));
+        assertFalse(passwordHashingService.needsRehash(hash));
+        assertTrue(passwordHashingService.needsRehash(new BCryptPasswordEncoder(4).encode("secret")));
+    }
+
+    @Test
+    void testFullQueueIsRefused() throws Exception {
+        BCryptPasswordEncoder slowEncoder = new BCryptPasswordEncoder(12);
+        String slowHash = slowEncoder.encode("secret");
+        ReflectionTestUtils.setField(passwordHashingService, "passwordEncoder", slowEncoder);
+
+        // One thread and one queue slot: of six simultaneous attempts, at most two are accepted
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            attempts.add(callers.submit(() -> passwordHashingService.matches("secret", slowHash)));
+        }
+
+        int refused = 0;
+        for (Future<Boolean> attempt : attempts) {
+            try {
+                assertTrue(attempt.get());
+            } catch (ExecutionException e) {
+                assertEquals("Authentication is busy, please try again shortly", e.getCause().getMessage());
+                refused++;
+            }
+        }
+        callers.shutdown();
+        assertTrue(refused >= 4);
+    }
+}
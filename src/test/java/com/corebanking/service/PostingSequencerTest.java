@@ -0,0 +1,256 @@
+package com.corebanking.service;
+
+import com.corebanking.common.ReferenceNumberGenerator;
+import com.corebanking.entity.*;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:sequencer;LOCK_TIMEOUT=10000",
+        "banking.posting.mode=SEQUENCED",
+        "banking.posting.sequencer.shards=" + PostingSequencerTest.SHARDS,
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+class PostingSequencerTest {
+
+    static final int SHARDS = 2;
+
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PostingSequencer postingSequencer;
+
+    @Autowired
+    private ReferenceNumberGenerator referenceNumberGenerator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testBatchAppliesPostingsInQueueOrder() {
+        Account first = createAccount(BigDecimal.valueOf(100), AccountStatus.ACTIVE);
+        Account second = createAccount(BigDecimal.ZERO, AccountStatus.ACTIVE);
+
+        List<PostingCommand> batch = List.of(
+                PostingCommand.deposit(first.getAccountNumber(), BigDecimal.valueOf(50), "in", reference()),
+                PostingCommand.transfer(first.getAccountNumber(), second.getAccountNumber(), BigDecimal.valueOf(120), "x", reference()),
+                PostingCommand.withdrawal(second.getAccountNumber(), BigDecimal.valueOf(20), "out", reference()),
+                PostingCommand.deposit(first.getAccountNumber(), BigDecimal.valueOf(5), "in", reference()));
+        flush(batch);
+
+        // Each posting sees the balances left by the ones queued before it
+        assertEquals(0, BigDecimal.valueOf(150).compareTo(batch.get(0).future.join().getBalanceAfter()));
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(batch.get(1).future.join().getBalanceAfter()));
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(batch.get(2).future.join().getBalanceAfter()));
+        assertEquals(0, BigDecimal.valueOf(35).compareTo(batch.get(3).future.join().getBalanceAfter()));
+        assertEquals(0, BigDecimal.valueOf(35).compareTo(balanceOf(first)));
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(balanceOf(second)));
+    }
+
+    @Test
+    void testRejectionDoesNotAffectRestOfBatch() {
+        Account account = createAccount(BigDecimal.valueOf(100), AccountStatus.ACTIVE);
+        Account frozen = createAccount(BigDecimal.valueOf(100), AccountStatus.FROZEN);
+
+        List<PostingCommand> batch = List.of(
+                PostingCommand.withdrawal(account.getAccountNumber(), BigDecimal.valueOf(60), "out", reference()),
+                PostingCommand.withdrawal(account.getAccountNumber(), BigDecimal.valueOf(60), "out", reference()),
+                PostingCommand.deposit(frozen.getAccountNumber(), BigDecimal.TEN, "in", reference()),
+                PostingCommand.deposit("NO-SUCH-ACCOUNT", BigDecimal.TEN, "in", reference()),
+                PostingCommand.transfer(account.getAccountNumber(), frozen.getAccountNumber(), BigDecimal.TEN, "x", reference()),
+                PostingCommand.deposit(account.getAccountNumber(), BigDecimal.valueOf(-5), "in", reference()),
+                PostingCommand.withdrawal(account.getAccountNumber(), BigDecimal.valueOf(40), "out", reference()));
+        flush(batch);
+
+        assertEquals(0, BigDecimal.valueOf(40).compareTo(batch.get(0).future.join().getBalanceAfter()));
+        assertEquals("Insufficient balance", rejection(batch.get(1)));
+        assertEquals("Account is not active", rejection(batch.get(2)));
+        assertEquals("Account not found", rejection(batch.get(3)));
+        assertEquals("Both accounts must be active", rejection(batch.get(4)));
+        assertEquals("Amount must be positive", rejection(batch.get(5)));
+        assertEquals(0, BigDecimal.ZERO.compareTo(batch.get(6).future.join().getBalanceAfter()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(balanceOf(account)));
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(balanceOf(frozen)));
+    }
+
+    @Test
+    void testOpposingTransfersAcrossShards() throws Exception {
+        Account first = createAccount(BigDecimal.valueOf(1000), AccountStatus.ACTIVE);
+        Account second = createAccount(BigDecimal.valueOf(1000), AccountStatus.ACTIVE);
+        while (shardOf(second) == shardOf(first)) {
+            second = createAccount(BigDecimal.valueOf(1000), AccountStatus.ACTIVE);
+        }
+        String from = first.getAccountNumber();
+        String to = second.getAccountNumber();
+
+        // Both shards lock both rows, so this deadlocks unless they take them in the same order
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Transaction>> transfers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            boolean forward = i % 2 == 0;
+            transfers.add(executor.submit(() -> forward
+                    ? transactionService.transfer(from, to, BigDecimal.ONE, "forward")
+                    : transactionService.transfer(to, from, BigDecimal.ONE, "backward")));
+        }
+        executor.shutdown();
+        for (Future<Transaction> transfer : transfers) {
+            assertNotNull(transfer.get(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(balanceOf(first)));
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(balanceOf(second)));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testStopDrainsQueuedPostings() throws Exception {
+        Account account = createAccount(BigDecimal.ZERO, AccountStatus.ACTIVE);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Holds the row so that the shard stalls on its first batch and the rest back up in the queue
+        Thread holder = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            accountRepository.findAllByIdInForUpdate(List.of(account.getAccountId()));
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        holder.start();
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        List<Future<Transaction>> deposits = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            deposits.add(executor.submit(() -> transactionService.deposit(account.getAccountNumber(), BigDecimal.ONE, "drain")));
+        }
+        executor.shutdown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (queueDepth() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        double queuedAtStop = queueDepth();
+        assertTrue(queuedAtStop > 0);
+
+        Thread stopper = new Thread(() -> {
+            try {
+                postingSequencer.stop();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        stopper.start();
+        release.countDown();
+        stopper.join(TimeUnit.SECONDS.toMillis(30));
+        holder.join();
+
+        // Everything accepted before the stop is committed and answered; later postings are refused
+        int posted = 0;
+        for (Future<Transaction> deposit : deposits) {
+            try {
+                assertNotNull(deposit.get(30, TimeUnit.SECONDS));
+                posted++;
+            } catch (ExecutionException e) {
+                assertEquals("Posting queue is full, please retry", e.getCause().getMessage());
+            }
+        }
+        assertTrue(posted > queuedAtStop);
+        assertEquals(0, queueDepth());
+        assertEquals(0, BigDecimal.valueOf(posted).compareTo(balanceOf(account)));
+    }
+
+    private void flush(List<PostingCommand> batch) {
+        ReflectionTestUtils.invokeMethod(postingSequencer, "flush", batch);
+    }
+
+    private String rejection(PostingCommand command) {
+        assertTrue(command.future.isCompletedExceptionally());
+        return command.future.handle((result, failure) -> failure.getMessage()).join();
+    }
+
+    private String reference() {
+        return referenceNumberGenerator.next();
+    }
+
+    private double queueDepth() {
+        return meterRegistry.find("banking.posting.sequencer.queue.depth").gauges().stream()
+                .mapToDouble(Gauge::value)
+                .sum();
+    }
+
+    private int shardOf(Account account) {
+        return Math.floorMod(account.getAccountNumber().hashCode(), SHARDS);
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getAccountId()).orElseThrow().getBalance();
+    }
+
+    private Account createAccount(BigDecimal balance, AccountStatus status) {
+        String name = "sequencer" + NAMES.incrementAndGet();
+        User user = userRepository.save(new User(name, name + "@test.local", "n/a", UserRole.CUSTOMER));
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer.setFirstName("Seq");
+        customer.setLastName(name);
+        customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setGender(Gender.OTHER);
+        customer.setPhoneNumber("80000" + NAMES.get());
+        customer.setAddressLine1("1 Test Street");
+        customer.setCity("Pune");
+        customer.setState("MH");
+        customer.setPostalCode("411001");
+        customer.setKycStatus(KycStatus.APPROVED);
+        customerRepository.save(customer);
+
+        Account account = new Account(customer, "SQ" + NAMES.incrementAndGet(), AccountType.SAVINGS);
+        account.setBalance(balance);
+        account.setStatus(status);
+        return accountRepository.save(account);
+    }
+}
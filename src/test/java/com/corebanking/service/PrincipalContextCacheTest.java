@@ -0,0 +1,108 @@
+package com.corebanking.service;
+
+import com.corebanking.dto.AccountNumberView;
+import com.corebanking.dto.CustomerIdentityView;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalContextCacheTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private PrincipalContextCache principalContextCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(principalContextCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(principalContextCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(principalContextCache, "maxSize", 100L);
+        principalContextCache.init();
+    }
+
+    @Test
+    void testOwnershipIsResolvedOnce() {
+        when(customerRepository.findIdentityByUsername("john")).thenReturn(Optional.of(identity(5L, 7L)));
+        when(accountRepository.findAccountNumbersByCustomerId(7L)).thenReturn(List.of(account(11L, "ACC001")));
+
+        assertTrue(principalContextCache.owns("john", "ACC001"));
+        assertFalse(principalContextCache.owns("john", "ACC002"));
+        assertEquals(Optional.of(11L), principalContextCache.ownedAccountId("john", "ACC001"));
+        assertEquals(5L, principalContextCache.find("john").orElseThrow().userId());
+
+        verify(customerRepository, times(1)).findIdentityByUsername("john");
+        verify(accountRepository, times(1)).findAccountNumbersByCustomerId(7L);
+    }
+
+    @Test
+    void testChangeEventReloadsAccounts() {
+        when(customerRepository.findIdentityByUsername("john")).thenReturn(Optional.of(identity(5L, 7L)));
+        when(accountRepository.findAccountNumbersByCustomerId(7L))
+                .thenReturn(List.of(account(11L, "ACC001")))
+                .thenReturn(List.of(account(11L, "ACC001"), account(12L, "ACC002")));
+
+        assertFalse(principalContextCache.owns("john", "ACC002"));
+        principalContextCache.onPrincipalChanged(new PrincipalChangedEvent("john"));
+
+        assertTrue(principalContextCache.owns("john", "ACC002"));
+    }
+
+    @Test
+    void testUsersWithoutProfileAreNotCached() {
+        when(customerRepository.findIdentityByUsername("jane"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(identity(6L, 8L)));
+        when(accountRepository.findAccountNumbersByCustomerId(8L)).thenReturn(List.of());
+
+        assertTrue(principalContextCache.find("jane").isEmpty());
+        assertEquals(8L, principalContextCache.find("jane").orElseThrow().customerId());
+        assertFalse(principalContextCache.owns("jane", null));
+    }
+
+    private CustomerIdentityView identity(Long userId, Long customerId) {
+        return new CustomerIdentityView() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Long getCustomerId() {
+                return customerId;
+            }
+        };
+    }
+
+    private AccountNumberView account(Long accountId, String accountNumber) {
+        return new AccountNumberView() {
+            @Override
+            public Long getAccountId() {
+                return accountId;
+            }
+
+            @Override
+            public String getAccountNumber() {
+                return accountNumber;
+            }
+        };
+    }
+}
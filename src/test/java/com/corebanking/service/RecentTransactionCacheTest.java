@@ -0,0 +1,110 @@
+package com.corebanking.service;
+
+import com.corebanking.dto.TransactionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentTransactionCacheTest {
+
+    private final RecentTransactionCache cache = new RecentTransactionCache();
+
+    private final LocalDateTime start = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "capacity", 5);
+        ReflectionTestUtils.setField(cache, "maxMemoryMb", 1L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        cache.init();
+    }
+
+    @Test
+    void testOnlyFirstPagesWithinCapacityAreCacheable() {
+        assertTrue(cache.isCacheable(PageRequest.of(0, 5)));
+        assertFalse(cache.isCacheable(PageRequest.of(1, 5)));
+        assertFalse(cache.isCacheable(PageRequest.of(0, 6)));
+        assertFalse(cache.isCacheable(PageRequest.of(0, 5, Sort.by("amount"))));
+    }
+
+    @Test
+    void testFilledEntryFollowsCommittedPostings() {
+        assertTrue(cache.firstPage(1L, PageRequest.of(0, 3)).isEmpty());
+
+        cache.fill(1L, cache.generation(1L), latest(12, 5));
+        cache.record(1L, summary(13));
+        cache.record(1L, summary(13));
+
+        Page<TransactionSummary> page = cache.firstPage(1L, PageRequest.of(0, 3)).orElseThrow();
+        assertEquals(List.of(13L, 12L, 11L), ids(page));
+        assertEquals(13, page.getTotalElements());
+        assertEquals(5, page.getTotalPages());
+    }
+
+    @Test
+    void testRingKeepsNewestWhenFull() {
+        cache.fill(1L, cache.generation(1L), latest(5, 5));
+        for (long id = 6; id <= 9; id++) {
+            cache.record(1L, summary(id));
+        }
+
+        Page<TransactionSummary> page = cache.firstPage(1L, PageRequest.of(0, 5)).orElseThrow();
+        assertEquals(List.of(9L, 8L, 7L, 6L, 5L), ids(page));
+        assertEquals(9, page.getTotalElements());
+    }
+
+    @Test
+    void testFillIsDiscardedWhenPostingCommittedDuringRead() {
+        long generation = cache.generation(1L);
+        cache.record(1L, summary(6));
+        cache.fill(1L, generation, latest(5, 5));
+
+        assertTrue(cache.firstPage(1L, PageRequest.of(0, 3)).isEmpty());
+    }
+
+    @Test
+    void testEntryExpiresAfterFillEvenWhileUpdated() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 1L);
+        cache.init();
+
+        cache.fill(1L, cache.generation(1L), latest(5, 5));
+        Thread.sleep(600);
+        cache.record(1L, summary(6));
+        assertTrue(cache.firstPage(1L, PageRequest.of(0, 3)).isPresent());
+
+        // Postings made through other nodes may be missing, so the deadline is not extended
+        Thread.sleep(600);
+        assertTrue(cache.firstPage(1L, PageRequest.of(0, 3)).isEmpty());
+    }
+
+    private Page<TransactionSummary> latest(long newestId, int count) {
+        List<TransactionSummary> rows = new ArrayList<>();
+        for (long id = newestId; id > newestId - count && id > 0; id--) {
+            rows.add(summary(id));
+        }
+        return new PageImpl<>(rows, PageRequest.of(0, 5), newestId);
+    }
+
+    private TransactionSummary summary(long id) {
+        TransactionSummary summary = new TransactionSummary();
+        summary.setTransactionId(id);
+        summary.setTransactionDate(start.plusMinutes(id));
+        return summary;
+    }
+
+    private List<Long> ids(Page<TransactionSummary> page) {
+        return page.getContent().stream().map(TransactionSummary::getTransactionId).toList();
+    }
+}
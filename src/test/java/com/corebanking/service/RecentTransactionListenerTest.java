@@ -0,0 +1,111 @@
+package com.corebanking.service;
+
+import com.corebanking.dto.TransactionSummary;
+import com.corebanking.entity.*;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:recenttransactions",
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+class RecentTransactionListenerTest {
+
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RecentTransactionCache recentTransactionCache;
+
+    @Test
+    void testCommittedPostingReachesCachedEntry() {
+        Account account = createAccount();
+        fillEmpty(account);
+
+        Transaction deposit = transactionService.deposit(account.getAccountNumber(), BigDecimal.TEN, "recent");
+
+        Page<TransactionSummary> page = recentTransactionCache
+                .firstPage(account.getAccountId(), PageRequest.of(0, 5)).orElseThrow();
+        assertEquals(1, page.getTotalElements());
+        assertEquals(deposit.getReferenceNumber(), page.getContent().get(0).getReferenceNumber());
+    }
+
+    @Test
+    void testRolledBackPostingIsNotRecorded() {
+        Account account = createAccount();
+        fillEmpty(account);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionService.deposit(account.getAccountNumber(), BigDecimal.TEN, "recent");
+            status.setRollbackOnly();
+        });
+
+        Page<TransactionSummary> page = recentTransactionCache
+                .firstPage(account.getAccountId(), PageRequest.of(0, 5)).orElseThrow();
+        assertEquals(0, page.getTotalElements());
+        assertTrue(page.getContent().isEmpty());
+    }
+
+    private void fillEmpty(Account account) {
+        Long accountId = account.getAccountId();
+        recentTransactionCache.fill(accountId, recentTransactionCache.generation(accountId),
+                new PageImpl<>(List.of(), recentTransactionCache.fillRequest(), 0));
+        assertTrue(recentTransactionCache.firstPage(accountId, PageRequest.of(0, 5)).isPresent());
+    }
+
+    private Account createAccount() {
+        String name = "recent" + NAMES.incrementAndGet();
+        User user = userRepository.save(new User(name, name + "@test.local", "n/a", UserRole.CUSTOMER));
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer.setFirstName("Recent");
+        customer.setLastName(name);
+        customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setGender(Gender.OTHER);
+        customer.setPhoneNumber("50000" + NAMES.get());
+        customer.setAddressLine1("1 Test Street");
+        customer.setCity("Pune");
+        customer.setState("MH");
+        customer.setPostalCode("411001");
+        customer.setKycStatus(KycStatus.APPROVED);
+        customerRepository.save(customer);
+
+        Account account = new Account(customer, "RT" + NAMES.incrementAndGet(), AccountType.SAVINGS);
+        account.setBalance(BigDecimal.valueOf(100));
+        return accountRepository.save(account);
+    }
+}
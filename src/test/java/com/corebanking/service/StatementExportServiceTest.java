@@ -0,0 +1,96 @@
+package com.corebanking.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementExportServiceTest {
+
+    private final StatementExportService statementExportService = new StatementExportService();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:export;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS transactions");
+        jdbcTemplate.execute("CREATE TABLE transactions (transaction_id BIGINT PRIMARY KEY, account_id BIGINT, " +
+                "transaction_type VARCHAR(20), amount DECIMAL(15,2), description VARCHAR(255), transaction_date TIMESTAMP, " +
+                "balance_after DECIMAL(15,2), reference_number VARCHAR(50), to_account_number VARCHAR(20), " +
+                "from_account_number VARCHAR(20))");
+        insert(jdbcTemplate, 1, 1, "DEPOSIT", "100.00", "salary, March", "2024-03-01T09:00:00", "100.00", null);
+        insert(jdbcTemplate, 2, 1, "TRANSFER_OUT", "40.50", "=cmd()", "2024-03-02T10:30:00", "59.50", "ACC002");
+        insert(jdbcTemplate, 3, 2, "DEPOSIT", "5.00", "other account", "2024-03-02T11:00:00", "5.00", null);
+        insert(jdbcTemplate, 4, 1, "DEPOSIT", "1.00", "next month", "2024-04-01T00:00:00", "60.50", null);
+
+        ReflectionTestUtils.setField(statementExportService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(statementExportService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(statementExportService, "fetchSize", 2);
+    }
+
+    @Test
+    void testCsvExportCoversRangeInOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        statementExportService.export(1L, LocalDateTime.parse("2024-03-01T00:00:00"), LocalDateTime.parse("2024-04-01T00:00:00"),
+                StatementFormat.CSV, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("transactionId,transactionDate"));
+        assertEquals("1,2024-03-01T09:00,DEPOSIT,100.00,100.00,,\"salary, March\",,", lines[1]);
+        assertEquals("2,2024-03-02T10:30,TRANSFER_OUT,40.50,59.50,,'=cmd(),,ACC002", lines[2]);
+    }
+
+    @Test
+    void testGzipNdjsonExport() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        statementExportService.export(1L, LocalDateTime.parse("2024-03-01T00:00:00"), LocalDateTime.parse("2024-05-01T00:00:00"),
+                StatementFormat.NDJSON, true, out);
+
+        String content;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = content.split("\n");
+        assertEquals(3, lines.length);
+
+        JsonNode transfer = objectMapper.readTree(lines[1]);
+        assertEquals(2, transfer.get("transactionId").asLong());
+        assertEquals(0, new BigDecimal("40.50").compareTo(transfer.get("amount").decimalValue()));
+        assertEquals("ACC002", transfer.get("toAccountNumber").asText());
+        assertTrue(transfer.get("fromAccountNumber").isNull());
+        assertEquals(4, objectMapper.readTree(lines[2]).get("transactionId").asLong());
+    }
+
+    @Test
+    void testCsvText() {
+        assertEquals("", StatementExportService.csvText(null));
+        assertEquals("plain", StatementExportService.csvText("plain"));
+        assertEquals("\"say \"\"hi\"\"\"", StatementExportService.csvText("say \"hi\""));
+        assertEquals("'+1", StatementExportService.csvText("+1"));
+        assertEquals("'\tcmd", StatementExportService.csvText("\tcmd"));
+        assertEquals("\"'\r=1\"", StatementExportService.csvText("\r=1"));
+    }
+
+    private void insert(JdbcTemplate jdbcTemplate, long id, long accountId, String type, String amount, String description,
+                        String date, String balanceAfter, String toAccountNumber) {
+        jdbcTemplate.update("INSERT INTO transactions (transaction_id, account_id, transaction_type, amount, description, " +
+                        "transaction_date, balance_after, to_account_number) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, accountId, type, new BigDecimal(amount), description, LocalDateTime.parse(date),
+                new BigDecimal(balanceAfter), toAccountNumber);
+    }
+}
@@ -0,0 +1,90 @@
+package com.corebanking.service;
+
+import com.corebanking.entity.RevokedToken;
+import com.corebanking.repository.RevokedTokenRepository;
+import com.corebanking.security.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider();
+
+    private final TokenRevocationService tokenRevocationService = new TokenRevocationService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "testSecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60_000);
+        tokenProvider.init();
+
+        ReflectionTestUtils.setField(tokenRevocationService, "revokedTokenRepository", revokedTokenRepository);
+        ReflectionTestUtils.setField(tokenRevocationService, "tokenProvider", tokenProvider);
+        ReflectionTestUtils.setField(tokenRevocationService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedTokens", 1_000L);
+        ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.01);
+    }
+
+    @Test
+    void testUnrevokedTokensAreAnsweredWithoutQueries() {
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenReturn(List.of("revoked-elsewhere"));
+        tokenRevocationService.init();
+
+        assertFalse(tokenRevocationService.isRevoked(tokenId(tokenProvider.generateToken("john"))));
+        assertFalse(tokenRevocationService.isRevoked(null));
+        verify(revokedTokenRepository, never()).existsByTokenId(any());
+    }
+
+    @Test
+    void testFilterHitIsConfirmedInTable() {
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenReturn(List.of("revoked-elsewhere"));
+        when(revokedTokenRepository.existsByTokenId("revoked-elsewhere")).thenReturn(true);
+        tokenRevocationService.init();
+
+        assertTrue(tokenRevocationService.isRevoked("revoked-elsewhere"));
+    }
+
+    @Test
+    void testRevokedTokenSurvivesRebuildBeforeItIsRead() {
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenReturn(List.of());
+        tokenRevocationService.init();
+        String token = tokenProvider.generateToken("john");
+        String tokenId = tokenId(token);
+
+        tokenRevocationService.revoke(token);
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+
+        // The table read by the next rebuild does not show the row yet; the local record keeps it in the filter
+        tokenRevocationService.refresh();
+        when(revokedTokenRepository.existsByTokenId(tokenId)).thenReturn(true);
+        assertTrue(tokenRevocationService.isRevoked(tokenId));
+    }
+
+    @Test
+    void testInvalidTokensAreIgnored() {
+        when(revokedTokenRepository.findActiveTokenIds(any())).thenReturn(List.of());
+        tokenRevocationService.init();
+
+        tokenRevocationService.revoke("not-a-token");
+        verify(revokedTokenRepository, never()).save(any());
+    }
+
+    private String tokenId(String token) {
+        return tokenProvider.parseVerified(token).orElseThrow().getId();
+    }
+}
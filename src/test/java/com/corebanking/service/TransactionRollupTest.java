@@ -0,0 +1,150 @@
+package com.corebanking.service;
+
+import com.corebanking.entity.*;
+import com.corebanking.repository.AccountRepository;
+import com.corebanking.repository.CustomerRepository;
+import com.corebanking.repository.DailyTxnRollupRepository;
+import com.corebanking.repository.TransactionRepository;
+import com.corebanking.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:rollups",
+        "logging.level.com.corebanking=WARN"
+})
+@ActiveProfiles("test")
+class TransactionRollupTest {
+
+    private static final AtomicInteger NAMES = new AtomicInteger();
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private DailyTxnRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void testCommittedPostingsAreRolledUpOnce() {
+        Account account = createAccount();
+        LocalDate today = LocalDate.now();
+        Totals before = totals(today, TransactionType.DEPOSIT);
+
+        // Set by reference, as the conditional and batch paths do, so the account type is looked up
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                post(entityManager.getReference(Account.class, account.getAccountId()), TransactionType.DEPOSIT,
+                        BigDecimal.TEN, LocalDateTime.now());
+            }
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            post(account, TransactionType.DEPOSIT, BigDecimal.ONE, LocalDateTime.now());
+            status.setRollbackOnly();
+        });
+
+        Totals after = totals(today, TransactionType.DEPOSIT);
+        assertEquals(3, after.count() - before.count());
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(after.amount().subtract(before.amount())));
+    }
+
+    @Test
+    void testBackfillMatchesIncrementalTotals() {
+        Account account = createAccount();
+        LocalDate day = LocalDate.now().minusDays(3);
+        transactionTemplate.executeWithoutResult(status -> {
+            post(account, TransactionType.WITHDRAWAL, BigDecimal.valueOf(25), day.atTime(9, 0));
+            post(account, TransactionType.WITHDRAWAL, BigDecimal.valueOf(15), day.atTime(17, 30));
+            post(account, TransactionType.TRANSFER_OUT, BigDecimal.valueOf(40), day.atTime(12, 0));
+        });
+        Totals withdrawals = totals(day, TransactionType.WITHDRAWAL);
+        Totals transfers = totals(day, TransactionType.TRANSFER_OUT);
+
+        transactionTemplate.executeWithoutResult(status -> rollupRepository.deleteByRollupDate(day));
+        assertEquals(0, totals(day, TransactionType.WITHDRAWAL).count());
+
+        assertEquals(1, transactionRollupService.rebuild(day, day));
+        assertEquals(withdrawals, totals(day, TransactionType.WITHDRAWAL));
+        assertEquals(transfers, totals(day, TransactionType.TRANSFER_OUT));
+    }
+
+    @Test
+    void testRebuildLeavesTodayAlone() {
+        assertEquals(0, transactionRollupService.rebuild(LocalDate.now(), LocalDate.now()));
+    }
+
+    private Totals totals(LocalDate day, TransactionType type) {
+        return rollupRepository.findTotalsByTransactionType(day, day).stream()
+                .filter(view -> view.getTransactionType() == type)
+                .findFirst()
+                .map(view -> new Totals(view.getTxnCount(), view.getTotalAmount().stripTrailingZeros()))
+                .orElse(new Totals(0, BigDecimal.ZERO));
+    }
+
+    private void post(Account account, TransactionType type, BigDecimal amount, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setAccount(account);
+        transaction.setTransactionType(type);
+        transaction.setAmount(amount);
+        transaction.setTransactionDate(date);
+        transaction.setBalanceAfter(BigDecimal.valueOf(5000));
+        transaction.setReferenceNumber("RUREF" + NAMES.incrementAndGet());
+        transactionRepository.save(transaction);
+    }
+
+    private Account createAccount() {
+        String name = "rollup" + NAMES.incrementAndGet();
+        User user = userRepository.save(new User(name, name + "@test.local", "n/a", UserRole.CUSTOMER));
+
+        Customer customer = new Customer();
+        customer.setUser(user);
+        customer.setFirstName("Roll");
+        customer.setLastName(name);
+        customer.setDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setGender(Gender.OTHER);
+        customer.setPhoneNumber("80000" + NAMES.get());
+        customer.setAddressLine1("1 Test Street");
+        customer.setCity("Pune");
+        customer.setState("MH");
+        customer.setPostalCode("411001");
+        customer.setKycStatus(KycStatus.APPROVED);
+        customerRepository.save(customer);
+
+        Account account = new Account(customer, "RU" + NAMES.incrementAndGet(), AccountType.SAVINGS);
+        account.setBalance(BigDecimal.valueOf(5000));
+        return accountRepository.save(account);
+    }
+
+    private record Totals(long count, BigDecimal amount) {}
+}
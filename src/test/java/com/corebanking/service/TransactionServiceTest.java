@@ -0,0 +1,80 @@
+package com.corebanking.service;
+
+import com.corebanking.dto.TransactionHistoryPage;
+import com.corebanking.dto.TransactionSummary;
+import com.corebanking.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+
+    @Test
+    void testCursorRoundTrip() {
+        String cursor = TransactionService.encodeCursor(transaction(42L, now));
+        TransactionService.HistoryCursor decoded = TransactionService.decodeCursor(cursor);
+
+        assertEquals(now, decoded.transactionDate());
+        assertEquals(42L, decoded.transactionId());
+        assertThrows(RuntimeException.class, () -> TransactionService.decodeCursor("not-a-cursor"));
+    }
+
+    @Test
+    void testHistoryReturnsCursorOnlyWhenMoreRowsExist() {
+        when(transactionRepository.findLatestByAccountId(1L, PageRequest.of(0, 3)))
+                .thenReturn(rows(3, 100L));
+
+        TransactionHistoryPage first = transactionService.getAccountHistory(1L, null, 2);
+
+        assertEquals(2, first.getTransactions().size());
+        assertTrue(first.isHasMore());
+        TransactionService.HistoryCursor position = TransactionService.decodeCursor(first.getNextCursor());
+        assertEquals(99L, position.transactionId());
+
+        when(transactionRepository.findByAccountIdBefore(eq(1L), eq(position.transactionDate()), eq(99L), any()))
+                .thenReturn(rows(1, 98L));
+
+        TransactionHistoryPage last = transactionService.getAccountHistory(1L, first.getNextCursor(), 2);
+
+        assertEquals(1, last.getTransactions().size());
+        assertFalse(last.isHasMore());
+        assertNull(last.getNextCursor());
+        verify(transactionRepository, never()).findSummariesByAccountId(any(), any());
+    }
+
+    private List<TransactionSummary> rows(int count, long firstId) {
+        List<TransactionSummary> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(transaction(firstId - i, now.minusMinutes(1000 - firstId + i)));
+        }
+        return rows;
+    }
+
+    private TransactionSummary transaction(Long id, LocalDateTime date) {
+        TransactionSummary transaction = new TransactionSummary();
+        transaction.setTransactionId(id);
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}